@@ -0,0 +1,74 @@
+package co.edu.uniquindio.benchmarks;
+
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.User;
+import co.edu.uniquindio.model.enums.MediaStatus;
+import co.edu.uniquindio.model.enums.ReportStatus;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Datos sintéticos y reproducibles (semilla fija) para los benchmarks
+ * Las ubicaciones se reparten alrededor de Armenia (Quindío) en un cuadro de ~1 grado
+ */
+public final class BenchmarkData {
+
+    public static final double CENTER_LAT = 4.5339;
+    public static final double CENTER_LNG = -75.6811;
+    public static final List<String> CATEGORIES = List.of("incendio", "inundacion", "accidente", "robo", "derrumbe", "otro");
+
+    private static final ReportStatus[] STATUSES = ReportStatus.values();
+
+    private BenchmarkData() {
+    }
+
+    public static List<Report> reports(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+        List<Report> reports = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            reports.add(Report.builder()
+                    .id(new ObjectId().toHexString())
+                    .title("Reporte " + i)
+                    .description("Descripción del reporte de prueba número " + i)
+                    .date(now.minusMinutes(random.nextInt(60 * 24 * 90)))
+                    .ratingsImportant(random.nextInt(50))
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .location(randomPoint(random))
+                    .idUser("user-" + random.nextInt(1000))
+                    .categories(List.of(CATEGORIES.get(random.nextInt(CATEGORIES.size())),
+                            CATEGORIES.get(random.nextInt(CATEGORIES.size()))))
+                    .imageUrls(List.of("https://res.cloudinary.com/demo/image/upload/" + i + ".jpg"))
+                    .mediaStatus(MediaStatus.values()[random.nextInt(MediaStatus.values().length)])
+                    .build());
+        }
+        return reports;
+    }
+
+    // Usuarios con id, ubicación (lo que usan el índice en memoria y la consulta $nearSphere) y correo (índice único)
+    public static List<User> users(int count, long seed) {
+        Random random = new Random(seed);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId(new ObjectId().toHexString());
+            user.setEmail(email(i));
+            user.setLocation(randomPoint(random));
+            users.add(user);
+        }
+        return users;
+    }
+
+    public static String email(int index) {
+        return "usuario" + index + "@bench.invalid";
+    }
+
+    private static GeoJsonPoint randomPoint(Random random) {
+        return new GeoJsonPoint(CENTER_LNG + random.nextDouble() - 0.5, CENTER_LAT + random.nextDouble() - 0.5);
+    }
+}
@@ -0,0 +1,53 @@
+package co.edu.uniquindio.benchmarks;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * mongod embebido (flapdoodle) para los benchmarks que consultan MongoDB
+ * - El binario se descarga la primera vez y queda en ~/.embedmongo
+ * - El MongoTemplate crea los índices declarados en las entidades, igual que la aplicación
+ *   (spring.data.mongodb.auto-index-creation=true)
+ */
+public final class EmbeddedMongo implements AutoCloseable {
+
+    private static final String DATABASE = "resqnet-bench";
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> process;
+    private final MongoClient client;
+    private final MongoTemplate mongoTemplate;
+
+    private EmbeddedMongo() {
+        this.process = Mongod.instance().start(Version.Main.V7_0);
+        this.client = MongoClients.create("mongodb://" + process.current().getServerAddress());
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setAutoIndexCreation(true);
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        this.mongoTemplate = new MongoTemplate(new SimpleMongoClientDatabaseFactory(client, DATABASE), converter);
+    }
+
+    public static EmbeddedMongo start() {
+        return new EmbeddedMongo();
+    }
+
+    public MongoTemplate mongoTemplate() {
+        return mongoTemplate;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        process.close();
+    }
+}
@@ -0,0 +1,171 @@
+package co.edu.uniquindio.benchmarks;
+
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.User;
+import co.edu.uniquindio.model.enums.ReportStatus;
+import co.edu.uniquindio.profiling.ExplainSummary;
+import co.edu.uniquindio.utils.GeoUtils;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de los repositorios con y sin los índices declarados en las entidades:
+ * - *Scan: copia de la colección sin más índice que _id (recorrido completo)
+ * - *Indexed: la colección con los índices de @CompoundIndex / @Indexed / @GeoSpatialIndexed
+ * Al iniciar imprime el explain (plan, documentos y claves examinados frente a devueltos) de cada consulta
+ * en ambas colecciones y falla si alguna consulta sobre la colección indexada sigue usando COLLSCAN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexExplainBenchmark {
+
+    private static final String UNINDEXED_SUFFIX = "_noindex";
+    private static final int USERS = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.DESC, "_id"));
+
+    @Param({"10000", "100000"})
+    private int reports;
+
+    private EmbeddedMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private QueryMapper queryMapper;
+
+    private Query statusAndCategories;
+    private Query adminFilter;
+    private Query userByEmail;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongo = EmbeddedMongo.start();
+        mongoTemplate = mongo.mongoTemplate();
+        queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        load(Report.class, BenchmarkData.reports(reports, 42));
+        load(User.class, BenchmarkData.users(USERS, 7));
+
+        // ReportRepository.findByStatusAndCategoriesIn (primera página, orden por defecto)
+        statusAndCategories = new Query(Criteria.where("status").is(ReportStatus.PENDING)
+                .and("categories").in(List.of("incendio", "derrumbe")))
+                .with(DEFAULT_SORT).limit(PAGE_SIZE);
+
+        // ReportRepositoryCustomImpl.findByFilters: estado + últimos 30 días + 15 km alrededor del centro
+        LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
+        Circle area = new Circle(new Point(BenchmarkData.CENTER_LNG, BenchmarkData.CENTER_LAT), GeoUtils.kmToRadians(15.0));
+        adminFilter = new Query(new Criteria().andOperator(
+                Criteria.where("status").is(ReportStatus.PENDING),
+                Criteria.where("date").gte(today.minusDays(30)).lt(today.plusDays(1)),
+                Criteria.where("location").withinSphere(area)))
+                .with(DEFAULT_SORT).limit(PAGE_SIZE);
+
+        // UserRepository.findByEmail
+        userByEmail = new Query(Criteria.where("status").ne("DELETED").and("email").is(BenchmarkData.email(USERS / 2)));
+
+        printExplain("status + categorías", statusAndCategories, Report.class);
+        printExplain("filtro admin", adminFilter, Report.class);
+        printExplain("usuario por correo", userByEmail, User.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public List<Report> statusAndCategoriesScan() {
+        return find(statusAndCategories, Report.class, false);
+    }
+
+    @Benchmark
+    public List<Report> statusAndCategoriesIndexed() {
+        return find(statusAndCategories, Report.class, true);
+    }
+
+    @Benchmark
+    public List<Report> adminFilterScan() {
+        return find(adminFilter, Report.class, false);
+    }
+
+    @Benchmark
+    public List<Report> adminFilterIndexed() {
+        return find(adminFilter, Report.class, true);
+    }
+
+    @Benchmark
+    public List<User> userByEmailScan() {
+        return find(userByEmail, User.class, false);
+    }
+
+    @Benchmark
+    public List<User> userByEmailIndexed() {
+        return find(userByEmail, User.class, true);
+    }
+
+    // --- Métodos auxiliares ---
+
+    // Los mismos documentos en la colección de la entidad (con sus índices) y en una copia sin índices
+    private <T> void load(Class<T> type, List<T> documents) {
+        String collection = mongoTemplate.getCollectionName(type);
+        mongoTemplate.dropCollection(collection);
+        mongoTemplate.dropCollection(collection + UNINDEXED_SUFFIX);
+
+        mongoTemplate.insert(documents, collection + UNINDEXED_SUFFIX);
+        mongoTemplate.insert(documents, collection);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(type)
+                .forEach(definition -> mongoTemplate.indexOps(type).ensureIndex(definition));
+    }
+
+    private <T> List<T> find(Query query, Class<T> type, boolean indexed) {
+        return mongoTemplate.find(query, type, collection(type, indexed));
+    }
+
+    private void printExplain(String name, Query query, Class<?> type) {
+        ExplainSummary scan = explain(query, type, false);
+        ExplainSummary indexed = explain(query, type, true);
+        System.out.printf(Locale.ROOT, "%n[explain] %s (%d reportes, %d usuarios)%n", name, reports, USERS);
+        System.out.printf(Locale.ROOT, "  sin índices: %s | examinados %d docs / %d claves | devueltos %d%n",
+                scan.plan(), scan.docsExamined(), scan.keysExamined(), scan.returned());
+        System.out.printf(Locale.ROOT, "  con índices: %s | examinados %d docs / %d claves | devueltos %d%n",
+                indexed.plan(), indexed.docsExamined(), indexed.keysExamined(), indexed.returned());
+        if (indexed.collectionScan()) {
+            throw new IllegalStateException("La consulta '" + name + "' sigue recorriendo toda la colección: " + indexed.plan());
+        }
+    }
+
+    // Mismo documento de consulta que envía MongoTemplate (enums, fechas y $geoWithin ya convertidos)
+    private ExplainSummary explain(Query query, Class<?> type, boolean indexed) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        Document find = new Document("find", collection(type, indexed))
+                .append("filter", queryMapper.getMappedObject(query.getQueryObject(), entity))
+                .append("sort", queryMapper.getMappedSort(query.getSortObject(), entity));
+        if (query.getLimit() > 0) {
+            find.append("limit", query.getLimit());
+        }
+        Document result = mongoTemplate.getDb().runCommand(new Document("explain", find).append("verbosity", "executionStats"));
+        return ExplainSummary.of(result);
+    }
+
+    private String collection(Class<?> type, boolean indexed) {
+        String collection = mongoTemplate.getCollectionName(type);
+        return indexed ? collection : collection + UNINDEXED_SUFFIX;
+    }
+}
@@ -0,0 +1,145 @@
+package co.edu.uniquindio.benchmarks;
+
+import co.edu.uniquindio.config.JwtTokenFilter;
+import co.edu.uniquindio.config.SimpleGrantedAuthorityNoPrefix;
+import co.edu.uniquindio.utils.JwtUtil;
+import co.edu.uniquindio.utils.JwtUtilBenchmarkAccess;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Key;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de JwtTokenFilter por petición autenticada (antes y después del caché de claims):
+ * - baselineThreeParses: el filtro anterior (validateToken + extractUserId + extractAllClaims,
+ *   cada uno con un parser nuevo y su propia verificación HMAC)
+ * - filterUncached: el filtro actual con el caché vacío (una sola verificación con el parser reutilizado)
+ * - filterCached: el filtro actual con el token ya verificado (sesión que repite peticiones)
+ * Cada invocación pasa por OncePerRequestFilter.doFilter -> doFilterInternal con request/response simulados
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenFilterBenchmark {
+
+    private static final String SECRET = "clave-de-benchmark-con-al-menos-32-bytes!!";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private JwtUtil jwtUtil;
+    private JwtTokenFilter filter;
+    private LegacyJwtTokenFilter legacyFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretString", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 10_000L);
+        jwtUtil.init();
+        filter = new JwtTokenFilter(jwtUtil);
+        legacyFilter = new LegacyJwtTokenFilter(Keys.hmacShaKeyFor(SECRET.getBytes()));
+
+        request = new MockHttpServletRequest("GET", "/api/reports");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken("user-1", "client"));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication baselineThreeParses() throws ServletException, IOException {
+        legacyFilter.doFilter(request, response, NO_OP_CHAIN);
+        return authenticationAndClear();
+    }
+
+    @Benchmark
+    public Authentication filterUncached() throws ServletException, IOException {
+        JwtUtilBenchmarkAccess.clearClaimsCache(jwtUtil);
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return authenticationAndClear();
+    }
+
+    @Benchmark
+    public Authentication filterCached() throws ServletException, IOException {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return authenticationAndClear();
+    }
+
+    // El filtro omite las peticiones ya autenticadas: cada invocación empieza con el contexto vacío
+    private static Authentication authenticationAndClear() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    // Copia del filtro y de JwtUtil antes del caché: tres parseos con parser nuevo por petición
+    private static final class LegacyJwtTokenFilter extends OncePerRequestFilter {
+
+        private final Key secretKey;
+
+        private LegacyJwtTokenFilter(Key secretKey) {
+            this.secretKey = secretKey;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            String header = request.getHeader("Authorization");
+            if (header == null || !header.startsWith("Bearer ")) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            String token = header.replace("Bearer ", "");
+            try {
+                if (validateToken(token)) {
+                    String userId = parse(token).getSubject();
+                    Claims claims = parse(token);
+                    String role = claims.get("role", String.class);
+                    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                            userId, null, Collections.singletonList(new SimpleGrantedAuthorityNoPrefix(role))));
+                }
+            } catch (Exception e) {
+                SecurityContextHolder.clearContext();
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token inválido");
+                return;
+            }
+            filterChain.doFilter(request, response);
+        }
+
+        private boolean validateToken(String token) {
+            try {
+                return !parse(token).getExpiration().before(new Date());
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private Claims parse(String token) {
+            return Jwts.parserBuilder()
+                    .setSigningKey(secretKey)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package co.edu.uniquindio.benchmarks;
+
+import co.edu.uniquindio.utils.JwtUtil;
+import co.edu.uniquindio.utils.JwtUtilBenchmarkAccess;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificación de tokens en cada petición (JwtTokenFilter):
+ * - verifyCached: token ya visto, se toma del caché de claims
+ * - verifyUncached: caché vacío, verificación HMAC y parseo completos
+ * - generateToken: firma de un token nuevo (login)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretString", "clave-de-benchmark-con-al-menos-32-bytes!!");
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 10_000L);
+        jwtUtil.init();
+        token = jwtUtil.generateToken("user-1", "client");
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyCached() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyUncached() {
+        JwtUtilBenchmarkAccess.clearClaimsCache(jwtUtil);
+        return jwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user-1", "client");
+    }
+}
@@ -0,0 +1,64 @@
+package co.edu.uniquindio.benchmarks;
+
+import co.edu.uniquindio.cache.UserLocationIndex;
+import co.edu.uniquindio.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Usuarios cercanos a un reporte nuevo (fan-out de notificaciones):
+ * - locationIndex: grilla en memoria de UserLocationIndex
+ * - nearSphere: consulta $nearSphere sobre el índice 2dsphere de users (la usada antes del índice)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearbyUsersBenchmark {
+
+    @Param({"10000", "100000"})
+    private int users;
+
+    @Param({"2", "10"})
+    private double radiusKm;
+
+    private EmbeddedMongo mongo;
+    private UserLocationIndex locationIndex;
+    private GeoJsonPoint center;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongo = EmbeddedMongo.start();
+        mongo.mongoTemplate().dropCollection(User.class);
+        mongo.mongoTemplate().insertAll(BenchmarkData.users(users, 7));
+
+        locationIndex = new UserLocationIndex(mongo.mongoTemplate(), 0.05);
+        locationIndex.load();
+        center = new GeoJsonPoint(BenchmarkData.CENTER_LNG, BenchmarkData.CENTER_LAT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public List<UserLocationIndex.NearbyUser> locationIndex() {
+        return locationIndex.findWithin(center.getY(), center.getX(), radiusKm, null);
+    }
+
+    @Benchmark
+    public List<User> nearSphere() {
+        // Con GeoJSON, $maxDistance va en metros
+        Query query = new Query(Criteria.where("location").nearSphere(center).maxDistance(radiusKm * 1000));
+        query.fields().include("_id");
+        return mongo.mongoTemplate().find(query, User.class);
+    }
+}
@@ -0,0 +1,71 @@
+package co.edu.uniquindio.benchmarks;
+
+import co.edu.uniquindio.dto.ReportResponse;
+import co.edu.uniquindio.mappers.ReportMapper;
+import co.edu.uniquindio.mappers.ReportMapperImpl;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.services.implementations.ReportServiceBenchmarkAccess;
+import co.edu.uniquindio.utils.GeoUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de reportes y cálculo de distancias por reporte (listados, exportaciones y fan-out)
+ * - La conversión Report -> ReportResponse se mide en sus dos formas: la del servicio (convertToResponse,
+ *   usada por listados, caché y exportación) y ReportMapper.toResponse
+ * - calculateDistance de ReportServiceImpl delega en GeoUtils.distanceKm, que es lo que se mide
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportConversionBenchmark {
+
+    private static final int REPORTS = 1024; // Potencia de 2 para recorrer con una máscara
+
+    private List<Report> reports;
+    private ReportMapper reportMapper;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reports = BenchmarkData.reports(REPORTS, 42);
+        reportMapper = new ReportMapperImpl();
+    }
+
+    // Se rota entre reportes distintos para que la JIT no especialice sobre un solo objeto
+    private Report nextReport() {
+        return reports.get(next++ & (REPORTS - 1));
+    }
+
+    @Benchmark
+    public double calculateDistance() {
+        Report report = nextReport();
+        return GeoUtils.distanceKm(report.getLocation().getY(), report.getLocation().getX(),
+                BenchmarkData.CENTER_LAT, BenchmarkData.CENTER_LNG);
+    }
+
+    @Benchmark
+    public ReportResponse convertToResponse() {
+        return ReportServiceBenchmarkAccess.convertToResponse(nextReport(), "Filtrado exitoso");
+    }
+
+    @Benchmark
+    public ReportResponse toResponse() {
+        return reportMapper.toResponse(nextReport());
+    }
+
+    // Una página completa (como getReportsWithFilters o la exportación por lotes)
+    @Benchmark
+    @OperationsPerInvocation(REPORTS)
+    public void convertPage(Blackhole blackhole) {
+        for (Report report : reports) {
+            blackhole.consume(ReportServiceBenchmarkAccess.convertToResponse(report, "Filtrado exitoso"));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package co.edu.uniquindio.benchmarks;
+
+import co.edu.uniquindio.dto.ReportFilterRequest;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.repositories.ReportRepositoryCustomImpl;
+import co.edu.uniquindio.utils.GeoUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro de reportes por estado, categorías, fechas y radio:
+ * - legacyInMemory: el pipeline anterior (findAll + filtros con streams en la JVM)
+ * - mongoQuery: ReportRepositoryCustomImpl.findByFilters (filtros resueltos en MongoDB)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportFilterBenchmark {
+
+    @Param({"1000", "10000"})
+    private int reports;
+
+    private EmbeddedMongo mongo;
+    private ReportRepositoryCustomImpl repository;
+    private ReportFilterRequest filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongo = EmbeddedMongo.start();
+        mongo.mongoTemplate().dropCollection(Report.class);
+        mongo.mongoTemplate().insertAll(BenchmarkData.reports(reports, 42));
+        repository = new ReportRepositoryCustomImpl(mongo.mongoTemplate());
+
+        LocalDate today = LocalDate.now();
+        filter = new ReportFilterRequest(List.of("incendio", "derrumbe"), "PENDING",
+                today.minusDays(30), today, BenchmarkData.CENTER_LAT, BenchmarkData.CENTER_LNG, 15.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public List<Report> legacyInMemory() {
+        String status = filter.status();
+        List<String> categories = filter.categories();
+        LocalDate startDate = filter.startDate();
+        LocalDate endDate = filter.endDate();
+        Double lat = filter.latitude();
+        Double lng = filter.longitude();
+        Double radius = filter.radiusKm();
+
+        return mongo.mongoTemplate().findAll(Report.class).stream()
+                .filter(report -> status == null || report.getStatus().name().equalsIgnoreCase(status))
+                .filter(report -> categories == null || report.getCategories().stream().anyMatch(categories::contains))
+                .filter(report -> startDate == null || !report.getDate().toLocalDate().isBefore(startDate))
+                .filter(report -> endDate == null || !report.getDate().toLocalDate().isAfter(endDate))
+                .filter(report -> {
+                    if (lat == null || lng == null || radius == null) return true;
+                    return GeoUtils.distanceKm(report.getLocation().getY(), report.getLocation().getX(), lat, lng) <= radius;
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public List<Report> mongoQuery() {
+        return repository.findByFilters(filter, Pageable.unpaged());
+    }
+}
@@ -0,0 +1,62 @@
+package co.edu.uniquindio.benchmarks;
+
+import co.edu.uniquindio.dto.LocationDTO;
+import co.edu.uniquindio.dto.ReportResponse;
+import co.edu.uniquindio.mappers.ReportMapper;
+import co.edu.uniquindio.mappers.ReportMapperImpl;
+import co.edu.uniquindio.utils.ReportJsonCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON de los endpoints de reportes:
+ * - perRequest*: un ObjectMapper nuevo en cada petición (como hacía el controlador antes de ReportJsonCodec)
+ * - shared*: ReportJsonCodec con lectores y escritores ya resueltos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportJsonBenchmark {
+
+    private static final String LOCATION_JSON = "{\"latitude\": 4.5339, \"longitude\": -75.6811}";
+
+    private ReportJsonCodec codec;
+    private List<ReportResponse> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = new ReportJsonCodec(new ObjectMapper().findAndRegisterModules());
+        ReportMapper mapper = new ReportMapperImpl();
+        responses = BenchmarkData.reports(100, 42).stream().map(mapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public LocationDTO perRequestReadLocation() throws IOException {
+        return new ObjectMapper().readValue(LOCATION_JSON, LocationDTO.class);
+    }
+
+    @Benchmark
+    public LocationDTO sharedReadLocation() throws IOException {
+        return codec.readLocation(LOCATION_JSON);
+    }
+
+    @Benchmark
+    public String perRequestWriteReports() throws IOException {
+        return new ObjectMapper().findAndRegisterModules().writeValueAsString(responses);
+    }
+
+    @Benchmark
+    public String sharedWriteReports() throws IOException {
+        StringWriter writer = new StringWriter();
+        codec.writeReports(writer, responses);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package co.edu.uniquindio.services.implementations;
+
+import co.edu.uniquindio.dto.ReportResponse;
+import co.edu.uniquindio.model.Report;
+
+/**
+ * Acceso de los benchmarks a lo que ReportServiceImpl no expone (mismo paquete, solo en src/jmh)
+ */
+public final class ReportServiceBenchmarkAccess {
+
+    private ReportServiceBenchmarkAccess() {
+    }
+
+    public static ReportResponse convertToResponse(Report report, String message) {
+        return ReportServiceImpl.convertToResponse(report, message);
+    }
+}
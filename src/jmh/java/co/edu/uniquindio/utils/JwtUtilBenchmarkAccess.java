@@ -0,0 +1,14 @@
+package co.edu.uniquindio.utils;
+
+/**
+ * Acceso de los benchmarks a lo que JwtUtil no expone (mismo paquete, solo en src/jmh)
+ */
+public final class JwtUtilBenchmarkAccess {
+
+    private JwtUtilBenchmarkAccess() {
+    }
+
+    public static void clearClaimsCache(JwtUtil jwtUtil) {
+        jwtUtil.clearClaimsCache();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y errores por operación durante la fase medida de la prueba de carga
+ * - Histogramas HdrHistogram (µs, 3 dígitos significativos) seguros entre hilos
+ * - Al final imprime una tabla y escribe un CSV con throughput y percentiles por operación
+ */
+final class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    void start() {
+        operations.clear();
+        startNanos = System.nanoTime();
+    }
+
+    void stop() {
+        endNanos = System.nanoTime();
+    }
+
+    void record(String operation, long latencyNanos, boolean success) {
+        Operation stats = operations.computeIfAbsent(operation, name -> new Operation());
+        if (success) {
+            stats.latencies.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, latencyNanos / 1_000)));
+        } else {
+            stats.errors.increment();
+        }
+    }
+
+    long count(String operation) {
+        Operation stats = operations.get(operation);
+        return stats == null ? 0 : stats.latencies.getTotalCount();
+    }
+
+    long errors(String operation) {
+        Operation stats = operations.get(operation);
+        return stats == null ? 0 : stats.errors.sum();
+    }
+
+    long totalCount() {
+        return operations.values().stream().mapToLong(stats -> stats.latencies.getTotalCount()).sum();
+    }
+
+    long totalErrors() {
+        return operations.values().stream().mapToLong(stats -> stats.errors.sum()).sum();
+    }
+
+    double elapsedSeconds() {
+        return (endNanos - startNanos) / 1_000_000_000.0;
+    }
+
+    // Tabla legible para la consola
+    String render() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-14s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operacion", "ok", "errores", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (String[] row : rows()) {
+            out.append(String.format(Locale.ROOT, "%-14s %9s %7s %9s %9s %9s %9s %9s %9s%n", (Object[]) row));
+        }
+        out.append(String.format(Locale.ROOT, "Total: %d ok, %d errores en %.1f s (%.1f ops/s)%n",
+                totalCount(), totalErrors(), elapsedSeconds(), totalCount() / elapsedSeconds()));
+        return out.toString();
+    }
+
+    void writeCsv(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("operation,ok,errors,ops_per_second,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        for (String[] row : rows()) {
+            lines.add(String.join(",", row));
+        }
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines);
+    }
+
+    // --- Métodos auxiliares ---
+
+    private List<String[]> rows() {
+        double seconds = elapsedSeconds();
+        List<String[]> rows = new ArrayList<>();
+        operations.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            Histogram histogram = entry.getValue().latencies.copy();
+            rows.add(new String[]{
+                    entry.getKey(),
+                    Long.toString(histogram.getTotalCount()),
+                    Long.toString(entry.getValue().errors.sum()),
+                    String.format(Locale.ROOT, "%.1f", histogram.getTotalCount() / seconds),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())
+            });
+        });
+        return rows;
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.2f", micros / 1_000.0);
+    }
+
+    private static final class Operation {
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.loadtest;
+
+import co.edu.uniquindio.services.interfaces.CloudinaryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Beans que reemplazan servicios externos en el perfil loadtest
+ */
+@Configuration
+public class LoadTestConfig {
+
+    // Cloudinary simulado: devuelve URLs falsas tras una latencia configurable (por imagen)
+    @Bean
+    @Primary
+    public CloudinaryService stubCloudinaryService(@Value("${resqnet.loadtest.cloudinary-latency-ms:0}") long latencyMs) {
+        return new CloudinaryService() {
+            @Override
+            public List<String> uploadImages(List<MultipartFile> files) {
+                return files == null ? List.of() : files.stream().map(file -> upload()).toList();
+            }
+
+            @Override
+            public List<String> uploadFiles(List<Path> files) {
+                return files == null ? List.of() : files.stream().map(file -> upload()).toList();
+            }
+
+            @Override
+            public void deleteImages(List<String> imageUrls) {
+            }
+
+            private String upload() {
+                if (latencyMs > 0) {
+                    LockSupport.parkNanos(latencyMs * 1_000_000);
+                }
+                return "https://loadtest.invalid/image/upload/" + UUID.randomUUID() + ".jpg";
+            }
+        };
+    }
+}
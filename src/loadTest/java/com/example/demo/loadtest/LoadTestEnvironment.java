@@ -0,0 +1,165 @@
+package com.example.demo.loadtest;
+
+import co.edu.uniquindio.ProjectApplication;
+import co.edu.uniquindio.model.Category;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.User;
+import co.edu.uniquindio.model.enums.CategoryStatus;
+import co.edu.uniquindio.model.enums.ReportStatus;
+import co.edu.uniquindio.model.enums.Role;
+import co.edu.uniquindio.model.enums.UserStatus;
+import co.edu.uniquindio.utils.JwtUtil;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.bson.types.ObjectId;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Entorno de la prueba de carga:
+ * - mongod embebido (flapdoodle) con datos semilla: categorías, usuarios con ubicación y reportes
+ * - Servidor SMTP falso (GreenMail) en un puerto libre
+ * - La aplicación completa con el perfil loadtest (Cloudinary simulado) en un puerto libre
+ * Los datos se insertan antes de iniciar la aplicación, así los cachés y el índice de ubicaciones los cargan al arrancar
+ */
+final class LoadTestEnvironment implements AutoCloseable {
+
+    static final double CENTER_LAT = 4.5339;
+    static final double CENTER_LNG = -75.6811;
+    static final List<String> CATEGORIES = List.of("incendio", "inundacion", "accidente", "robo", "derrumbe", "otro");
+
+    private static final String DATABASE = "resqnet-loadtest";
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private final GreenMail smtp;
+    private final ConfigurableApplicationContext application;
+    private final List<String> userIds;
+    private final List<String> reportIds;
+
+    private LoadTestEnvironment(int users, int reports) {
+        mongod = Mongod.instance().start(Version.Main.V7_0);
+        String mongoUri = "mongodb://" + mongod.current().getServerAddress() + "/" + DATABASE;
+
+        Random random = new Random(42);
+        try (MongoClient client = MongoClients.create(mongoUri)) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, DATABASE);
+            userIds = seedUsers(mongoTemplate, users, random);
+            seedCategories(mongoTemplate);
+            reportIds = seedReports(mongoTemplate, reports, userIds, random);
+        }
+
+        smtp = new GreenMail(ServerSetup.SMTP.dynamicPort());
+        smtp.start();
+
+        // Como argumentos para que tengan prioridad sobre application.properties
+        application = new SpringApplicationBuilder(ProjectApplication.class, LoadTestConfig.class)
+                .profiles("loadtest")
+                .run("--server.port=0",
+                        "--spring.data.mongodb.uri=" + mongoUri,
+                        "--spring.mail.port=" + smtp.getSmtp().getPort());
+    }
+
+    static LoadTestEnvironment start(int users, int reports) {
+        return new LoadTestEnvironment(users, reports);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + port();
+    }
+
+    int port() {
+        return ((ServletWebServerApplicationContext) application).getWebServer().getPort();
+    }
+
+    String tokenFor(String userId) {
+        return application.getBean(JwtUtil.class).generateToken(userId, Role.CLIENT.name());
+    }
+
+    List<String> userIds() {
+        return userIds;
+    }
+
+    List<String> reportIds() {
+        return reportIds;
+    }
+
+    int receivedEmails() {
+        return smtp.getReceivedMessages().length;
+    }
+
+    @Override
+    public void close() {
+        application.close();
+        smtp.stop();
+        mongod.close();
+    }
+
+    // --- Datos semilla ---
+
+    private static List<String> seedUsers(MongoTemplate mongoTemplate, int count, Random random) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .id(new ObjectId().toHexString())
+                    .name("Usuario carga " + i)
+                    .email("carga" + i + "@loadtest.invalid")
+                    .password("sin-uso")
+                    .role(Role.CLIENT)
+                    .status(UserStatus.ACTIVE)
+                    .active(true)
+                    .city("Armenia")
+                    .birthDate(new Date())
+                    .location(randomPoint(random))
+                    .activationCodes(List.of())
+                    .resetCodes(List.of())
+                    .build());
+        }
+        mongoTemplate.insertAll(users);
+        return users.stream().map(User::getId).toList();
+    }
+
+    private static void seedCategories(MongoTemplate mongoTemplate) {
+        mongoTemplate.insertAll(CATEGORIES.stream()
+                .map(name -> Category.builder().idCategory(name).name(name).description("Categoría " + name).status(CategoryStatus.ACTIVE).build())
+                .toList());
+    }
+
+    private static List<String> seedReports(MongoTemplate mongoTemplate, int count, List<String> owners, Random random) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Report> reports = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            reports.add(Report.builder()
+                    .id(new ObjectId().toHexString())
+                    .title("Reporte semilla " + i)
+                    .description("Reporte inicial de la prueba de carga")
+                    .date(now.minusMinutes(random.nextInt(60 * 24 * 30)))
+                    .status(random.nextBoolean() ? ReportStatus.PENDING : ReportStatus.VERIFIED)
+                    .location(randomPoint(random))
+                    .idUser(owners.get(random.nextInt(owners.size())))
+                    .categories(List.of(CATEGORIES.get(random.nextInt(CATEGORIES.size()))))
+                    .imageUrls(List.of())
+                    .build());
+        }
+        mongoTemplate.insertAll(reports);
+        return reports.stream().map(Report::getId).toList();
+    }
+
+    private static GeoJsonPoint randomPoint(Random random) {
+        return new GeoJsonPoint(CENTER_LNG + random.nextDouble() - 0.5, CENTER_LAT + random.nextDouble() - 0.5);
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga end-to-end: la aplicación completa (perfil loadtest) con una mezcla de operaciones
+ * ejecutada por varios usuarios concurrentes, más oyentes WebSocket que reciben las notificaciones.
+ * <p>
+ * Operaciones de la mezcla (porcentaje de iteraciones):
+ * - create: POST /api/reports/create (multipart con una imagen, Cloudinary simulado)
+ * - like: POST /api/reports/{id}/toggle-importance
+ * - comment: POST /api/comments
+ * - filter: GET /api/reports/feed por estado y categoría
+ * - get: GET /api/reports/{id}
+ * - ws-subscribe: CONNECT STOMP + SUBSCRIBE al estado de un reporte (hasta CONNECTED y el envío del SUBSCRIBE)
+ * <p>
+ * Se ejecuta con ./gradlew loadTest; parámetros con -Dresqnet.loadtest.* (ver constantes).
+ * Los resultados se imprimen y se guardan como CSV en build/reports/loadtest
+ */
+class MixedWorkloadLoadTest {
+
+    private static final int USERS = Integer.getInteger("resqnet.loadtest.users", 500);
+    private static final int SEED_REPORTS = Integer.getInteger("resqnet.loadtest.seed-reports", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("resqnet.loadtest.concurrency", 32);
+    private static final int WS_LISTENERS = Integer.getInteger("resqnet.loadtest.ws-listeners", 50);
+    private static final long WARMUP_SECONDS = Long.getLong("resqnet.loadtest.warmup-seconds", 15);
+    private static final long DURATION_SECONDS = Long.getLong("resqnet.loadtest.duration-seconds", 60);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("resqnet.loadtest.max-error-rate", "0.01"));
+    private static final String MIX = System.getProperty("resqnet.loadtest.mix", "create=10,like=25,comment=15,filter=30,get=15,ws-subscribe=5");
+    private static final Path REPORT_DIR = Path.of(System.getProperty("resqnet.loadtest.report-dir", "build/reports/loadtest"));
+
+    // Los tokens duran 15 minutos: cada usuario virtual renueva el suyo antes
+    private static final long TOKEN_REFRESH_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final byte[] IMAGE = new byte[8 * 1024];
+
+    private static LoadTestEnvironment environment;
+    private static HttpClient http;
+    private static WebSocketStompClient stompClient;
+    private static ThreadPoolTaskScheduler stompScheduler;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyReport report = new LatencyReport();
+    private final ReportPool reports = new ReportPool(8192);
+    private final AtomicLong notificationsReceived = new AtomicLong();
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    @BeforeAll
+    static void startEnvironment() {
+        environment = LoadTestEnvironment.start(USERS, SEED_REPORTS);
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        stompScheduler = new ThreadPoolTaskScheduler();
+        stompScheduler.setPoolSize(2);
+        stompScheduler.setThreadNamePrefix("loadtest-stomp-");
+        stompScheduler.initialize();
+        stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        stompClient.setTaskScheduler(stompScheduler);
+    }
+
+    @AfterAll
+    static void stopEnvironment() {
+        if (stompScheduler != null) stompScheduler.shutdown();
+        if (environment != null) environment.close();
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        environment.reportIds().forEach(reports::add);
+        Map<String, Integer> mix = parseMix(MIX);
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        // Oyentes que permanecen conectados y reciben las notificaciones (comentarios, estados, reportes cercanos)
+        List<StompSession> listeners = new ArrayList<>();
+        for (int i = 0; i < Math.min(WS_LISTENERS, environment.userIds().size()); i++) {
+            StompSession session = connect(environment.userIds().get(i));
+            session.subscribe("/user/queue/notifications", new JsonFrameHandler(payload ->
+                    notificationsReceived.addAndGet(payload.path("notifications").size())));
+            listeners.add(session);
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.submit(() -> runVirtualUser(mix, totalWeight));
+        }
+
+        TimeUnit.SECONDS.sleep(WARMUP_SECONDS);
+        report.start();
+        measuring = true;
+        TimeUnit.SECONDS.sleep(DURATION_SECONDS);
+        measuring = false;
+        report.stop();
+
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        listeners.forEach(StompSession::disconnect);
+
+        String summary = report.render();
+        System.out.printf("%nPrueba de carga: concurrencia=%d, oyentes WS=%d, calentamiento=%ds, medición=%ds, mezcla=%s%n%s"
+                        + "Notificaciones recibidas por los oyentes: %d, correos en el SMTP falso: %d%n",
+                CONCURRENCY, listeners.size(), WARMUP_SECONDS, DURATION_SECONDS, mix, summary,
+                notificationsReceived.get(), environment.receivedEmails());
+        Path csv = REPORT_DIR.resolve("loadtest-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        report.writeCsv(csv);
+        System.out.println("Resultados en " + csv.toAbsolutePath());
+
+        for (String operation : mix.keySet()) {
+            assertTrue(report.count(operation) > 0, "La operación " + operation + " no se completó ninguna vez");
+        }
+        long total = report.totalCount() + report.totalErrors();
+        assertTrue(report.totalErrors() <= total * MAX_ERROR_RATE,
+                "Tasa de errores " + report.totalErrors() + "/" + total + " supera " + MAX_ERROR_RATE);
+    }
+
+    // --- Usuario virtual ---
+
+    private void runVirtualUser(Map<String, Integer> mix, int totalWeight) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String userId = environment.userIds().get(random.nextInt(environment.userIds().size()));
+        String token = environment.tokenFor(userId);
+        long tokenIssued = System.nanoTime();
+
+        while (running) {
+            if (System.nanoTime() - tokenIssued > TOKEN_REFRESH_NANOS) {
+                token = environment.tokenFor(userId);
+                tokenIssued = System.nanoTime();
+            }
+            String operation = pick(mix, random.nextInt(totalWeight));
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(operation, userId, token, random);
+            } catch (Exception e) {
+                success = false;
+            }
+            if (measuring) {
+                report.record(operation, System.nanoTime() - start, success);
+            }
+        }
+    }
+
+    private boolean execute(String operation, String userId, String token, ThreadLocalRandom random) throws Exception {
+        return switch (operation) {
+            case "create" -> createReport(userId, token, random);
+            case "like" -> isOk(send(HttpRequest.newBuilder(uri("/api/reports/" + reports.random(random) + "/toggle-importance"))
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.noBody())));
+            case "comment" -> isOk(send(HttpRequest.newBuilder(uri("/api/comments"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of(
+                            "content", "Comentario de carga " + random.nextInt(1_000_000),
+                            "idReport", reports.random(random)))))));
+            case "filter" -> isOk(send(HttpRequest.newBuilder(uri("/api/reports/feed?status=PENDING&size=20&categories="
+                    + LoadTestEnvironment.CATEGORIES.get(random.nextInt(LoadTestEnvironment.CATEGORIES.size())))).GET()));
+            case "get" -> isOk(send(HttpRequest.newBuilder(uri("/api/reports/" + reports.random(random))).GET()));
+            case "ws-subscribe" -> subscribeToReportStatus(userId, reports.random(random));
+            default -> throw new IllegalArgumentException("Operación desconocida: " + operation);
+        };
+    }
+
+    private boolean createReport(String userId, String token, ThreadLocalRandom random) throws Exception {
+        double lat = LoadTestEnvironment.CENTER_LAT + random.nextDouble() - 0.5;
+        double lng = LoadTestEnvironment.CENTER_LNG + random.nextDouble() - 0.5;
+        Multipart body = new Multipart()
+                .field("title", "Reporte de carga")
+                .field("description", "Reporte creado por la prueba de carga")
+                .field("location", "{\"latitude\": " + lat + ", \"longitude\": " + lng + "}")
+                .field("categories", objectMapper.writeValueAsString(
+                        List.of(LoadTestEnvironment.CATEGORIES.get(random.nextInt(LoadTestEnvironment.CATEGORIES.size())))))
+                .field("userId", userId)
+                .file("images", "imagen.jpg", "image/jpeg", IMAGE);
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/reports/create"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", body.contentType())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.build())));
+        if (!isOk(response)) {
+            return false;
+        }
+        JsonNode id = objectMapper.readTree(response.body()).get("id");
+        if (id != null) {
+            reports.add(id.asText());
+        }
+        return true;
+    }
+
+    private boolean subscribeToReportStatus(String userId, String reportId) throws Exception {
+        StompSession session = connect(userId);
+        try {
+            session.subscribe("/topic/reports/" + reportId + "/status", new JsonFrameHandler(payload -> {
+            }));
+            return session.isConnected();
+        } finally {
+            session.disconnect();
+        }
+    }
+
+    // --- Métodos auxiliares ---
+
+    private StompSession connect(String userId) throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add("Authorization", "Bearer " + environment.tokenFor(userId));
+        return stompClient.connectAsync(environment.baseUrl() + "/ws", headers, new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean isOk(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static URI uri(String path) {
+        return URI.create(environment.baseUrl() + path);
+    }
+
+    private static String pick(Map<String, Integer> mix, int value) {
+        int accumulated = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            accumulated += entry.getValue();
+            if (value < accumulated) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Mezcla vacía");
+    }
+
+    // "create=10,like=25,..." -> mapa ordenado operación -> peso
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        return weights;
+    }
+
+    // IDs de reportes existentes (semilla + creados); al llenarse se reemplazan los más antiguos
+    private static final class ReportPool {
+        private final AtomicReferenceArray<String> ids;
+        private final AtomicLong added = new AtomicLong();
+
+        private ReportPool(int capacity) {
+            this.ids = new AtomicReferenceArray<>(capacity);
+        }
+
+        void add(String id) {
+            ids.set((int) (added.getAndIncrement() % ids.length()), id);
+        }
+
+        String random(ThreadLocalRandom random) {
+            int filled = (int) Math.min(added.get(), ids.length());
+            return ids.get(random.nextInt(filled));
+        }
+    }
+
+    private record JsonFrameHandler(Consumer<JsonNode> onMessage) implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            onMessage.accept((JsonNode) payload);
+        }
+    }
+
+    // Cuerpo multipart/form-data mínimo para java.net.http
+    private static final class Multipart {
+        private final String boundary = "loadtest-" + UUID.randomUUID();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        Multipart field(String name, String value) {
+            write("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n");
+            return this;
+        }
+
+        Multipart file(String name, String filename, String contentType, byte[] content) {
+            write("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename
+                    + "\"\r\nContent-Type: " + contentType + "\r\n\r\n");
+            body.writeBytes(content);
+            write("\r\n");
+            return this;
+        }
+
+        String contentType() {
+            return "multipart/form-data; boundary=" + boundary;
+        }
+
+        byte[] build() {
+            write("--" + boundary + "--\r\n");
+            return body.toByteArray();
+        }
+
+        private void write(String text) {
+            body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
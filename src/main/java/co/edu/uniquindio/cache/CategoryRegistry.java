@@ -0,0 +1,114 @@
+package co.edu.uniquindio.cache;
+
+import co.edu.uniquindio.dto.CategoryResponse;
+import co.edu.uniquindio.mappers.CategoryMapper;
+import co.edu.uniquindio.model.Category;
+import co.edu.uniquindio.model.enums.CategoryStatus;
+import co.edu.uniquindio.repositories.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Caché de categorías en memoria
+ * - Guarda una copia de toda la colección (son pocas y cambian poco)
+ * - Se precarga al iniciar y se invalida en cada cambio hecho por CategoryServiceImpl
+ * - La expiración por tiempo cubre cambios hechos por fuera de esta instancia
+ * - Un ID que no está en la copia se confirma en MongoDB antes de rechazarlo (puede venir de otro nodo
+ *   o de una recarga que empezó antes del cambio); si existe, la copia se recarga
+ * - Guarda CategoryResponse (inmutables), no las entidades: quien consulta no puede modificar la caché
+ * - Las métricas de aciertos/fallos se publican como cache.* con cache=categories
+ */
+@Component
+@Slf4j
+public class CategoryRegistry {
+
+    private static final String ALL = "all";
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final LoadingCache<String, Snapshot> cache;
+
+    public CategoryRegistry(CategoryRepository categoryRepository,
+                            CategoryMapper categoryMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${resqnet.cache.categories.ttl-minutes:10}") long ttlMinutes) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build(key -> loadAll());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "categories");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        log.info("Caché de categorías precargada con {} categorías", cache.get(ALL).ids().size());
+    }
+
+    // Retorna los IDs que no corresponden a ninguna categoría (una sola verificación en memoria;
+    // solo los que faltan en la copia se consultan en MongoDB)
+    public List<String> findMissing(Collection<String> categoryIds) {
+        Set<String> known = cache.get(ALL).ids();
+        List<String> missing = categoryIds.stream()
+                .filter(id -> !known.contains(id))
+                .distinct()
+                .toList();
+        if (missing.isEmpty()) {
+            return missing;
+        }
+
+        List<String> confirmed = missing.stream()
+                .filter(id -> !categoryRepository.existsById(id))
+                .toList();
+        if (confirmed.size() < missing.size()) {
+            log.debug("Caché de categorías desactualizada ({} IDs existen en MongoDB); se recarga", missing.size() - confirmed.size());
+            invalidate();
+        }
+        return confirmed;
+    }
+
+    public List<CategoryResponse> findAllByStatus(CategoryStatus status) {
+        return cache.get(ALL).byStatus().getOrDefault(status, List.of());
+    }
+
+    public void invalidate() {
+        cache.invalidateAll();
+    }
+
+    // --- Métodos auxiliares ---
+
+    private Snapshot loadAll() {
+        List<Category> categories = categoryRepository.findAll();
+        Set<String> ids = new HashSet<>();
+        categories.forEach(category -> ids.add(category.getIdCategory()));
+
+        Map<CategoryStatus, List<CategoryResponse>> byStatus = new EnumMap<>(CategoryStatus.class);
+        categories.stream()
+                .filter(category -> category.getStatus() != null)
+                .collect(Collectors.groupingBy(Category::getStatus, Collectors.mapping(categoryMapper::toCategoryResponse, Collectors.toList())))
+                .forEach((status, responses) -> byStatus.put(status, List.copyOf(responses)));
+        return new Snapshot(Set.copyOf(ids), byStatus);
+    }
+
+    // Copia inmutable de la colección: IDs de todas las categorías y respuestas ya convertidas por estado
+    private record Snapshot(Set<String> ids, Map<CategoryStatus, List<CategoryResponse>> byStatus) {
+    }
+}
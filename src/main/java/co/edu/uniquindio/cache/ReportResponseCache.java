@@ -0,0 +1,53 @@
+package co.edu.uniquindio.cache;
+
+import co.edu.uniquindio.dto.ReportResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura de reportes ya convertidos a ReportResponse (GET /api/reports/{id})
+ * - Expulsión por tamaño y por tiempo desde la escritura
+ * - ReportServiceImpl la invalida en cada cambio del reporte
+ * - Las métricas de aciertos/fallos se publican como cache.* con cache=reportResponses
+ */
+@Component
+public class ReportResponseCache {
+
+    private final Cache<String, ReportResponse> cache;
+
+    public ReportResponseCache(MeterRegistry meterRegistry,
+                               @Value("${resqnet.cache.reports.max-size:5000}") long maxSize,
+                               @Value("${resqnet.cache.reports.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "reportResponses");
+    }
+
+    // La carga se hace dentro del cómputo atómico de Caffeine: una invalidación concurrente
+    // espera a que termine y luego elimina el valor, así no queda una versión vieja en caché
+    public ReportResponse get(String reportId, Function<String, ReportResponse> loader) {
+        return cache.get(reportId, loader);
+    }
+
+    public void invalidate(String reportId) {
+        cache.invalidate(reportId);
+    }
+
+    public void invalidateAll(Iterable<String> reportIds) {
+        cache.invalidateAll(reportIds);
+    }
+
+    public Cache<String, ReportResponse> getCache() {
+        return cache;
+    }
+}
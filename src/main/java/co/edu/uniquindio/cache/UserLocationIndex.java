@@ -0,0 +1,163 @@
+package co.edu.uniquindio.cache;
+
+import co.edu.uniquindio.model.User;
+import co.edu.uniquindio.model.enums.UserStatus;
+import co.edu.uniquindio.utils.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria de la ubicación de los usuarios activos
+ * - Divide el mapa en una grilla de celdas de cellSizeDeg grados (latitud/longitud)
+ * - Cada celda guarda los IDs de los usuarios ubicados en ella
+ * - Una búsqueda por radio solo revisa las celdas que cubren el círculo y filtra por distancia real
+ * Se carga al iniciar la aplicación y UserServiceImpl lo mantiene al día
+ */
+@Component
+@Slf4j
+public class UserLocationIndex {
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final MongoTemplate mongoTemplate;
+    private final double cellSizeDeg;
+    private final int columns;
+
+    private final Map<String, IndexedUser> users = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> cells = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    public UserLocationIndex(MongoTemplate mongoTemplate,
+                             @Value("${resqnet.geo.user-index.cell-size-deg:0.05}") double cellSizeDeg) {
+        this.mongoTemplate = mongoTemplate;
+        this.cellSizeDeg = cellSizeDeg;
+        this.columns = (int) Math.ceil(360 / cellSizeDeg);
+    }
+
+    // Carga inicial: solo los usuarios no desactivados con ubicación (ID y ubicación)
+    // Se filtra por status: los usuarios registrados antes de User.active con @Builder.Default quedaron con active=false
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Query query = new Query(Criteria.where("location").exists(true).and("status").ne(UserStatus.INACTIVE));
+        query.fields().include("location");
+
+        try (Stream<User> stream = mongoTemplate.stream(query, User.class)) {
+            stream.forEach(user -> put(user.getId(), user.getLocation()));
+        }
+        loaded = true;
+        log.info("Índice de ubicaciones cargado con {} usuarios", users.size());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    // Agrega o mueve al usuario a la celda de su nueva ubicación
+    public void put(String userId, GeoJsonPoint location) {
+        if (userId == null || location == null) {
+            return;
+        }
+        double lat = location.getY();
+        double lng = location.getX();
+        long cell = cellKey(row(lat), column(lng));
+
+        users.compute(userId, (id, previous) -> {
+            if (previous != null && previous.cell() != cell) {
+                removeFromCell(previous.cell(), id);
+            }
+            cells.compute(cell, (key, ids) -> {
+                Set<String> updated = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                updated.add(id);
+                return updated;
+            });
+            return new IndexedUser(lat, lng, cell);
+        });
+    }
+
+    public void remove(String userId) {
+        users.computeIfPresent(userId, (id, previous) -> {
+            removeFromCell(previous.cell(), id);
+            return null;
+        });
+    }
+
+    // Usuarios a menos de radiusKm del punto, ordenados del más cercano al más lejano
+    public List<NearbyUser> findWithin(double lat, double lng, double radiusKm, String excludeUserId) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double lngDelta = cosLat < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE * cosLat));
+
+        int minRow = row(Math.max(-90, lat - latDelta));
+        int maxRow = row(Math.min(90, lat + latDelta));
+        int minCol = column(lng - lngDelta);
+        int colSpan = Math.min(columns, (int) Math.ceil(2 * lngDelta / cellSizeDeg) + 1);
+
+        List<NearbyUser> result = new ArrayList<>();
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = 0; c < colSpan; c++) {
+                Set<String> ids = cells.get(cellKey(r, Math.floorMod(minCol + c, columns)));
+                if (ids == null) {
+                    continue;
+                }
+                for (String id : ids) {
+                    IndexedUser user = users.get(id);
+                    if (user == null || id.equals(excludeUserId)) {
+                        continue;
+                    }
+                    double distance = GeoUtils.distanceKm(lat, lng, user.lat(), user.lng());
+                    if (distance <= radiusKm) {
+                        result.add(new NearbyUser(id, distance));
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(NearbyUser::distanceKm));
+        return result;
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void removeFromCell(long cell, String userId) {
+        cells.computeIfPresent(cell, (key, ids) -> {
+            ids.remove(userId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90) / cellSizeDeg);
+    }
+
+    private int column(double lng) {
+        return Math.floorMod((int) Math.floor((lng + 180) / cellSizeDeg), columns);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private record IndexedUser(double lat, double lng, long cell) {
+    }
+
+    public record NearbyUser(String userId, double distanceKm) {
+    }
+}
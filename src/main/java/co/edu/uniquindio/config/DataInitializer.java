@@ -42,7 +42,6 @@ public class DataInitializer implements CommandLineRunner {
                         .city("Ciudad Uniquindio")
                         .birthDate(new Date())
                         .location(new GeoJsonPoint(-75.677, 4.534))
-                        .reports(List.of())
                         .activationCodes(List.of())
                         .resetCodes(List.of())
                         .build();
@@ -59,7 +58,6 @@ public class DataInitializer implements CommandLineRunner {
                         .city("Ciudad Dos")
                         .birthDate(new Date())
                         .location(new GeoJsonPoint(-74.060, 4.710))
-                        .reports(List.of())
                         .activationCodes(List.of())
                         .resetCodes(List.of())
                         .build();
@@ -76,7 +74,6 @@ public class DataInitializer implements CommandLineRunner {
                         .city("Ciudad Tres")
                         .birthDate(new Date())
                         .location(new GeoJsonPoint(-71.042, 4.520))
-                        .reports(List.of())
                         .activationCodes(List.of())
                         .resetCodes(List.of())
                         .build();
@@ -93,7 +90,6 @@ public class DataInitializer implements CommandLineRunner {
                         .city("Ciudad Cuatro")
                         .birthDate(new Date())
                         .location(new GeoJsonPoint(-69.052, 5.020))
-                        .reports(List.of())
                         .activationCodes(List.of())
                         .resetCodes(List.of())
                         .build();
@@ -110,7 +106,6 @@ public class DataInitializer implements CommandLineRunner {
                         .city("Ciudad Cinco")
                         .birthDate(new Date())
                         .location(new GeoJsonPoint(-73.255, 5.680))
-                        .reports(List.of())
                         .activationCodes(List.of())
                         .resetCodes(List.of())
                         .build();
@@ -14,6 +14,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 @Component
 public class JwtTokenFilter extends OncePerRequestFilter {
@@ -40,15 +41,18 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 
         String header = request.getHeader("Authorization");
 
-        if (header == null || !header.startsWith("Bearer ")) {
+        // Ya autenticado por un filtro anterior (token de Prometheus en /actuator/prometheus)
+        if (header == null || !header.startsWith("Bearer ") || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
         String token = header.replace("Bearer ", "");
         try {
-            if (jwtUtil.validateToken(token)) {
-                String userId = jwtUtil.extractUserId(token);
-                Claims claims = jwtUtil.extractAllClaims(token);
+            // Una sola verificación por petición (y ninguna si el token ya está en caché)
+            Optional<Claims> verified = jwtUtil.verifyToken(token);
+            if (verified.isPresent()) {
+                Claims claims = verified.get();
+                String userId = claims.getSubject();
                 String role = claims.get("role", String.class);
 
                 SimpleGrantedAuthorityNoPrefix authority = new SimpleGrantedAuthorityNoPrefix(role);
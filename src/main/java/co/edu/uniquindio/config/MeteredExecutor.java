@@ -0,0 +1,54 @@
+package co.edu.uniquindio.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Envoltura de un Executor que cuenta tareas en cola (enviadas y aún no iniciadas),
+ * tareas en ejecución y completadas; sirve igual para pools fijos y para hilos virtuales
+ */
+class MeteredExecutor implements Executor {
+
+    private final Executor delegate;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+
+    MeteredExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queued.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.increment();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rechazada por el pool: nunca llegó a la cola
+            queued.decrementAndGet();
+            throw e;
+        }
+    }
+
+    int getQueued() {
+        return queued.get();
+    }
+
+    int getActive() {
+        return active.get();
+    }
+
+    long getCompleted() {
+        return completed.sum();
+    }
+}
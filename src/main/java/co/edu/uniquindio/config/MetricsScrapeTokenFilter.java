@@ -0,0 +1,53 @@
+package co.edu.uniquindio.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Autenticación de Prometheus en /actuator/prometheus con un token fijo (resqnet.metrics.scrape-token)
+ * - Prometheus no puede renovar un JWT; envía "Authorization: Bearer <token>" (authorization.credentials)
+ * - Si el token coincide se concede solo la autoridad METRICS; sin token configurado no hace nada
+ *   y el endpoint queda disponible únicamente para ADMIN
+ * - No es un @Component: lo agrega SecurityConfig a la cadena de seguridad
+ */
+public class MetricsScrapeTokenFilter extends OncePerRequestFilter {
+
+    public static final String AUTHORITY = "METRICS";
+    public static final String PROMETHEUS_PATH = "/actuator/prometheus";
+    private static final String BEARER = "Bearer ";
+
+    private final byte[] token;
+
+    public MetricsScrapeTokenFilter(String token) {
+        this.token = token == null ? new byte[0] : token.trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return token.length == 0 || !PROMETHEUS_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+        // Comparación en tiempo constante para no filtrar el token por tiempos de respuesta
+        if (header != null && header.startsWith(BEARER)
+                && MessageDigest.isEqual(token, header.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "prometheus", null, List.of(new SimpleGrantedAuthorityNoPrefix(AUTHORITY))));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
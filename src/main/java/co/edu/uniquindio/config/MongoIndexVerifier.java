@@ -0,0 +1,163 @@
+package co.edu.uniquindio.config;
+
+import co.edu.uniquindio.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Verificación de índices al arrancar
+ * - Compara los índices declarados en las entidades (@Indexed, @CompoundIndex, @GeoSpatialIndexed)
+ *   con los que existen en cada colección, por campos y dirección (no por nombre)
+ * - Crea los que falten (create-missing), p. ej. si auto-index-creation está desactivado o la creación falló
+ * - Advierte si un índice declarado como único existe sin la restricción
+ * - Los índices únicos sobre datos existentes (UNIQUE_FIELDS) no se declaran en la entidad: auto-index-creation
+ *   fallaría al arrancar si ya hay duplicados. Se crean solo aquí, después de comprobar que no los hay
+ * - Con fail-on-missing=true detiene el arranque si queda algún índice sin crear
+ */
+@Component
+@Slf4j
+public class MongoIndexVerifier implements CommandLineRunner {
+
+    // Campos únicos que se verifican y crean solo aquí (por entidad)
+    private static final Map<Class<?>, List<String>> UNIQUE_FIELDS = Map.of(User.class, List.of("email"));
+    private static final int DUPLICATES_SAMPLE = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean createMissing;
+    private final boolean failOnMissing;
+
+    public MongoIndexVerifier(MongoTemplate mongoTemplate,
+                              @Value("${resqnet.mongo.indexes.create-missing:true}") boolean createMissing,
+                              @Value("${resqnet.mongo.indexes.fail-on-missing:false}") boolean failOnMissing) {
+        this.mongoTemplate = mongoTemplate;
+        this.createMissing = createMissing;
+        this.failOnMissing = failOnMissing;
+    }
+
+    @Override
+    public void run(String... args) {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+
+        int expected = 0;
+        int created = 0;
+        List<String> problems = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;  // Tipos embebidos (ActivationCode, ResetCode...)
+            }
+            String collection = entity.getCollection();
+            List<Document> existing = mongoTemplate.getCollection(collection).listIndexes().into(new ArrayList<>());
+
+            List<IndexDefinition> definitions = new ArrayList<>();
+            resolver.resolveIndexFor(entity.getType()).forEach(definitions::add);
+            UNIQUE_FIELDS.getOrDefault(entity.getType(), List.of())
+                    .forEach(field -> definitions.add(new Index().on(field, Sort.Direction.ASC).unique().named(field)));
+
+            for (IndexDefinition definition : definitions) {
+                expected++;
+                if (verify(entity.getType(), collection, existing, definition, problems)) {
+                    created++;
+                }
+            }
+        }
+
+        log.info("Índices de MongoDB verificados: {} declarados, {} creados al arrancar, {} con problemas", expected, created, problems.size());
+        problems.forEach(problem -> log.warn("Índice: {}", problem));
+        if (failOnMissing && !problems.isEmpty()) {
+            throw new IllegalStateException("Índices de MongoDB incompletos: " + String.join("; ", problems));
+        }
+    }
+
+    // --- Métodos auxiliares ---
+
+    // Retorna true si el índice no existía y se creó
+    private boolean verify(Class<?> type, String collection, List<Document> existing, IndexDefinition definition, List<String> problems) {
+        String keys = signature(definition.getIndexKeys());
+        boolean unique = definition.getIndexOptions().getBoolean("unique", false);
+        Document current = existing.stream()
+                .filter(index -> keys.equals(signature(index.get("key", Document.class))))
+                .findFirst().orElse(null);
+
+        if (current != null) {
+            if (unique && !current.getBoolean("unique", false)) {
+                problems.add(collection + "." + current.getString("name") + " existe pero no es único");
+            }
+            return false;
+        }
+        if (!createMissing) {
+            problems.add(collection + " {" + keys + "} no existe");
+            return false;
+        }
+        if (unique) {
+            List<Object> duplicates = findDuplicates(collection, definition.getIndexKeys().keySet().iterator().next());
+            if (!duplicates.isEmpty()) {
+                problems.add(collection + " {" + keys + "} único no creado: hay valores duplicados, p. ej. " + duplicates);
+                return false;
+            }
+        }
+        if (!create(type, collection, definition)) {
+            problems.add(collection + " {" + keys + "} no existe");
+            return false;
+        }
+        return true;
+    }
+
+    // Algunos valores repetidos del campo (los documentos sin el campo no cuentan)
+    private List<Object> findDuplicates(String collection, String field) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(field).exists(true)),
+                Aggregation.group(field).count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)),
+                Aggregation.limit(DUPLICATES_SAMPLE));
+        return mongoTemplate.aggregate(aggregation, collection, Document.class).getMappedResults().stream()
+                .map(group -> group.get("_id"))
+                .toList();
+    }
+
+    private boolean create(Class<?> type, String collection, IndexDefinition definition) {
+        try {
+            mongoTemplate.indexOps(type).ensureIndex(definition);
+            log.info("Índice creado en {}: {}", collection, definition.getIndexKeys().toJson());
+            return true;
+        } catch (RuntimeException e) {
+            // P. ej. un índice único sobre datos que ya tienen duplicados
+            log.error("No se pudo crear el índice {} en {}: {}", definition.getIndexKeys().toJson(), collection, e.getMessage());
+            return false;
+        }
+    }
+
+    // "status:1,date:-1,_id:-1" (el servidor puede devolver las direcciones como double)
+    private static String signature(Document keys) {
+        if (keys == null) {
+            return "";
+        }
+        return keys.entrySet().stream()
+                .map(MongoIndexVerifier::keyPart)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String keyPart(Map.Entry<String, Object> entry) {
+        Object value = entry.getValue();
+        return entry.getKey() + ":" + (value instanceof Number number ? Integer.toString(number.intValue()) : value);
+    }
+}
@@ -0,0 +1,21 @@
+package co.edu.uniquindio.config;
+
+import co.edu.uniquindio.profiling.MongoQueryProfiler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra MongoQueryProfiler como CommandListener del cliente de MongoDB que crea Spring Boot
+ * Se desactiva con resqnet.mongo.profiling.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(name = "resqnet.mongo.profiling.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoProfilingConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoQueryProfilerCustomizer(MongoQueryProfiler profiler) {
+        return builder -> builder.addCommandListener(profiler);
+    }
+}
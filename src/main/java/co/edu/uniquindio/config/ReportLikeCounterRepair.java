@@ -0,0 +1,89 @@
+package co.edu.uniquindio.config;
+
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.ReportLike;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Reparación del contador ratingsImportant
+ * - Marcar/desmarcar escribe en report_likes y luego hace $inc sobre el reporte: si el proceso cae
+ *   entre las dos escrituras el contador queda desviado
+ * - Al iniciar cuenta las marcas de report_likes por reporte y corrige los contadores que no coinciden
+ * - Cada corrección vuelve a contar y solo se aplica si el contador no cambió mientras tanto,
+ *   para no pisar un $inc concurrente (lo que quede desviado se corrige en la siguiente ejecución)
+ * - Recorre report_likes y reports completos: está desactivada por defecto y se habilita en un solo
+ *   nodo cuando se sospecha de contadores desviados (resqnet.repairs.report-likes.enabled=true)
+ * - Corre después de ReportLikeMigration, que es la que crea report_likes a partir de los arreglos
+ */
+@Component
+@Order(ReportLikeMigration.ORDER + 1)
+@Slf4j
+public class ReportLikeCounterRepair implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public ReportLikeCounterRepair(MongoTemplate mongoTemplate,
+                                   @Value("${resqnet.repairs.report-likes.enabled:false}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Long> likesByReport = countLikes();
+
+        Query reports = new Query();
+        reports.fields().include("ratingsImportant");
+        int repaired = 0;
+        try (Stream<Document> documents = mongoTemplate.stream(reports, Document.class, mongoTemplate.getCollectionName(Report.class))) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                String reportId = document.get("_id").toString();
+                // $set/$inc pueden dejar el campo como Int32 o Int64 según quién lo escribió
+                Number stored = (Number) document.get("ratingsImportant");
+                int current = stored == null ? 0 : stored.intValue();
+                if (current != likesByReport.getOrDefault(reportId, 0L) && repair(reportId, current)) {
+                    repaired++;
+                }
+            }
+        }
+        if (repaired > 0) {
+            log.warn("Se corrigieron {} contadores de 'me gusta' que no coincidían con report_likes", repaired);
+        }
+    }
+
+    // --- Métodos auxiliares ---
+
+    private Map<String, Long> countLikes() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("reportId").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, ReportLike.class, Document.class)
+                .forEach(result -> counts.put(result.get("_id").toString(), ((Number) result.get("count")).longValue()));
+        return counts;
+    }
+
+    private boolean repair(String reportId, int observed) {
+        long count = mongoTemplate.count(new Query(Criteria.where("reportId").is(reportId)), ReportLike.class);
+        return mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(reportId).and("ratingsImportant").is(observed)),
+                new Update().set("ratingsImportant", (int) count),
+                Report.class).getModifiedCount() > 0;
+    }
+}
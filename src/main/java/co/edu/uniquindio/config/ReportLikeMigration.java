@@ -0,0 +1,123 @@
+package co.edu.uniquindio.config;
+
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.ReportLike;
+import co.edu.uniquindio.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Migración de los arreglos embebidos de "me gusta" a la colección report_likes
+ * - Copia Report.likedBy y User.likedReports a report_likes (upsert, no duplica)
+ * - Recalcula ratingsImportant de los reportes afectados
+ * - Elimina los campos likedBy, likedReports y reports ($unset)
+ * Es idempotente: si no quedan documentos con esos campos no hace nada.
+ */
+@Component
+@Order(ReportLikeMigration.ORDER)
+@Slf4j
+public class ReportLikeMigration implements CommandLineRunner {
+
+    public static final int ORDER = 100;
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public ReportLikeMigration(MongoTemplate mongoTemplate,
+                               @Value("${resqnet.migrations.report-likes.enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        String reports = mongoTemplate.getCollectionName(Report.class);
+        String users = mongoTemplate.getCollectionName(User.class);
+
+        Set<String> touchedReports = new HashSet<>();
+        long likes = copyLikes(users, "likedReports", false, touchedReports)
+                + copyLikes(reports, "likedBy", true, touchedReports);
+
+        if (touchedReports.isEmpty() && !hasLegacyFields(reports, users)) {
+            return;
+        }
+
+        // El contador queda igual al número real de marcas en report_likes (Int32, como el campo int de Report)
+        for (String reportId : touchedReports) {
+            long count = mongoTemplate.count(new Query(Criteria.where("reportId").is(reportId)), ReportLike.class);
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(reportId)),
+                    new Update().set("ratingsImportant", (int) count), Report.class);
+        }
+
+        // Se eliminan los campos al final: si la migración se interrumpe, se vuelve a ejecutar completa
+        mongoTemplate.updateMulti(new Query(Criteria.where("likedBy").exists(true)),
+                new Update().unset("likedBy"), reports);
+        mongoTemplate.updateMulti(new Query(new Criteria().orOperator(
+                        Criteria.where("likedReports").exists(true), Criteria.where("reports").exists(true))),
+                new Update().unset("likedReports").unset("reports"), users);
+
+        log.info("Migración de 'me gusta' completada: {} marcas copiadas, {} reportes recalculados", likes, touchedReports.size());
+    }
+
+    // Recorre los documentos que aún tienen el arreglo y hace upsert de cada par (reporte, usuario)
+    private long copyLikes(String collection, String field, boolean ownerIsReport, Set<String> touchedReports) {
+        Query query = new Query(Criteria.where(field).exists(true));
+        query.fields().include(field);
+
+        long copied = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReportLike.class);
+        int pending = 0;
+        LocalDateTime now = LocalDateTime.now();
+
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                String ownerId = document.get("_id").toString();
+                List<String> values = document.getList(field, String.class);
+                if (values == null) {
+                    continue;
+                }
+                for (String value : values) {
+                    String reportId = ownerIsReport ? ownerId : value;
+                    String userId = ownerIsReport ? value : ownerId;
+                    bulk.upsert(new Query(Criteria.where("reportId").is(reportId).and("userId").is(userId)),
+                            new Update().setOnInsert("date", now));
+                    touchedReports.add(reportId);
+                    copied++;
+                    if (++pending == BATCH_SIZE) {
+                        bulk.execute();
+                        bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReportLike.class);
+                        pending = 0;
+                    }
+                }
+            }
+        }
+        if (pending > 0) {
+            bulk.execute();
+        }
+        return copied;
+    }
+
+    private boolean hasLegacyFields(String reports, String users) {
+        return mongoTemplate.exists(new Query(Criteria.where("likedBy").exists(true)), reports)
+                || mongoTemplate.exists(new Query(Criteria.where("reports").exists(true)), users);
+    }
+}
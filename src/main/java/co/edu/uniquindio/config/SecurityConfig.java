@@ -1,5 +1,6 @@
 package co.edu.uniquindio.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
@@ -21,9 +22,12 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtTokenFilter jwtTokenFilter;
+    private final String metricsScrapeToken;
 
-    public SecurityConfig(JwtTokenFilter jwtTokenFilter) {
+    public SecurityConfig(JwtTokenFilter jwtTokenFilter,
+                          @Value("${resqnet.metrics.scrape-token:}") String metricsScrapeToken) {
         this.jwtTokenFilter = jwtTokenFilter;
+        this.metricsScrapeToken = metricsScrapeToken;
     }
 
     @Bean
@@ -53,12 +57,22 @@ public class SecurityConfig {
                                 "/api/reports/update/**",
                                 "/api/reports/delete/**",
                                 "/api/categories/create",
-                                "/api/categories/**"
+                                "/api/categories/**",
+                                "/api/notifications/**"
                         ).hasAnyAuthority("ADMIN", "CLIENT")
+                        // Endpoints de administración y diagnóstico:
+                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
+                        // Actuator: solo health es público; las métricas exponen rutas, usuarios y tiempos internos
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        // Prometheus se autentica con el token de scraping (MetricsScrapeTokenFilter)
+                        .requestMatchers(MetricsScrapeTokenFilter.PROMETHEUS_PATH).hasAnyAuthority("ADMIN", MetricsScrapeTokenFilter.AUTHORITY)
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .anyRequest().permitAll()
                 )
                 //Añadir filtro JWT antes de la autenticación básica
-                .addFilterBefore(jwtTokenFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtTokenFilter, UsernamePasswordAuthenticationFilter.class)
+                //Token de Prometheus antes del JWT (si coincide, el filtro JWT no lo procesa)
+                .addFilterBefore(new MetricsScrapeTokenFilter(metricsScrapeToken), JwtTokenFilter.class);
 
         return http.build();
     }
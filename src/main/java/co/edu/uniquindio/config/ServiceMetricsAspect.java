@@ -0,0 +1,63 @@
+package co.edu.uniquindio.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cada método público de los servicios (services.implementations) con el timer service.method
+ * - Tags: class, method, outcome (success/error) y exception
+ * - Los percentiles e histogramas se configuran en application.properties (management.metrics.distribution.*)
+ * - Las llamadas internas de un servicio a sí mismo no pasan por el proxy y no se miden por separado
+ * Los repositorios se miden con spring.data.repository.invocations y los comandos de MongoDB con mongodb.driver.commands
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final String METRIC = "service.method";
+
+    private final MeterRegistry meterRegistry;
+    // Timers de las llamadas exitosas ya resueltos (evita buscar el timer en el registro en cada llamada)
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * co.edu.uniquindio.services.implementations..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(method, key -> timer(targetClass, method, "success", "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(targetClass, method, "error", e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(Class<?> targetClass, Method method, String outcome, String exception) {
+        return Timer.builder(METRIC)
+                .description("Duración de los métodos de los servicios")
+                .tag("class", targetClass.getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -1,20 +1,193 @@
 package co.edu.uniquindio.config;
 
+import co.edu.uniquindio.websocket.NotificationReplayInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuración de WebSocket/STOMP
+ * - resqnet.websocket.broker=simple: broker en memoria (un solo nodo)
+ * - resqnet.websocket.broker=relay: reenvía a un broker STOMP externo (RabbitMQ, ActiveMQ Artemis...)
+ *   para que los mensajes y convertAndSendToUser lleguen a clientes conectados en cualquier nodo
+ * - Los canales de entrada, salida y del broker usan executors configurables (pool fijo o hilos virtuales)
+ * - Los clientes lentos se desconectan al superar el tiempo o el buffer de envío
+ */
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // Destino donde se publican los mensajes a usuarios que no están conectados a este nodo
+    private static final String UNRESOLVED_USER_DESTINATION = "/topic/unresolved-user-destination";
+    // Destino donde cada nodo comparte sus sesiones de usuario con los demás
+    private static final String USER_REGISTRY_DESTINATION = "/topic/simp-user-registry";
+
+    @Value("${resqnet.websocket.broker:simple}")
+    private String brokerMode;
+
+    @Value("${resqnet.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${resqnet.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${resqnet.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${resqnet.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${resqnet.websocket.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    // Heartbeats STOMP (ms) entre servidor y clientes, y entre servidor y broker externo
+    @Value("${resqnet.websocket.heartbeat.send-ms:10000}")
+    private long heartbeatSendMs;
+
+    @Value("${resqnet.websocket.heartbeat.receive-ms:10000}")
+    private long heartbeatReceiveMs;
+
+    @Value("${resqnet.websocket.sockjs.heartbeat-ms:25000}")
+    private long sockJsHeartbeatMs;
+
+    // Executors de los canales: hilos virtuales o pools fijos con cola acotada
+    @Value("${resqnet.websocket.channel.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${resqnet.websocket.channel.inbound.pool-size:16}")
+    private int inboundPoolSize;
+
+    @Value("${resqnet.websocket.channel.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${resqnet.websocket.channel.outbound.pool-size:16}")
+    private int outboundPoolSize;
+
+    @Value("${resqnet.websocket.channel.outbound.queue-capacity:1000}")
+    private int outboundQueueCapacity;
+
+    // 0 = el canal del broker entrega en el mismo hilo que publica
+    @Value("${resqnet.websocket.channel.broker.pool-size:0}")
+    private int brokerPoolSize;
+
+    @Value("${resqnet.websocket.channel.broker.queue-capacity:1000}")
+    private int brokerQueueCapacity;
+
+    // Conserva el orden de los mensajes de cada sesión aunque los canales usen varios hilos
+    @Value("${resqnet.websocket.preserve-order:true}")
+    private boolean preserveOrder;
+
+    // Límites de transporte: un cliente que no consume a tiempo se desconecta
+    @Value("${resqnet.websocket.transport.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${resqnet.websocket.transport.send-buffer-size-kb:256}")
+    private int sendBufferSizeKb;
+
+    @Value("${resqnet.websocket.transport.message-size-kb:64}")
+    private int messageSizeKb;
+
+    @Value("${resqnet.websocket.stats-logging-period-ms:60000}")
+    private long statsLoggingPeriodMs;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+    private MeterRegistry meterRegistry;
+    private Counter slowConsumerDisconnects;
+    // Sesiones WebSocket/SockJS abiertas en este nodo (gauge websocket.sessions)
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private NotificationReplayInterceptor notificationReplayInterceptor;
+    private final List<ThreadPoolTaskExecutor> pools = new ArrayList<>();
+
+    // @Lazy: el scheduler lo crea la propia configuración de WebSocket
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
+    // Reenvío del buzón de notificaciones al reconectarse (no existe en los nodos de prueba de WebSocket)
+    @Autowired
+    public void setNotificationReplayInterceptor(ObjectProvider<NotificationReplayInterceptor> notificationReplayInterceptor) {
+        this.notificationReplayInterceptor = notificationReplayInterceptor.getIfAvailable();
+    }
+
+    @Autowired
+    public void setMeterRegistry(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable();
+        if (this.meterRegistry != null) {
+            this.slowConsumerDisconnects = Counter.builder("websocket.slow_consumer.disconnects")
+                    .description("Sesiones cerradas por superar el tiempo o el buffer de envío")
+                    .register(this.meterRegistry);
+            Gauge.builder("websocket.sessions", openSessions, AtomicInteger::get)
+                    .description("Sesiones WebSocket abiertas en este nodo")
+                    .register(this.meterRegistry);
+        }
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
 
-        // Habilitar un broker simple (en memoria) para enviar mensajes a estos prefijos
-        config.enableSimpleBroker("/topic", "/queue");
+        if (isRelay()) {
+            // Broker STOMP externo compartido por todos los nodos
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeatSendMs)
+                    .setSystemHeartbeatReceiveInterval(heartbeatReceiveMs)
+                    // Mensajes a usuarios de otros nodos y registro de sesiones compartido
+                    .setUserDestinationBroadcast(UNRESOLVED_USER_DESTINATION)
+                    .setUserRegistryBroadcast(USER_REGISTRY_DESTINATION);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            // Habilitar un broker simple (en memoria) para enviar mensajes a estos prefijos
+            config.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[]{heartbeatSendMs, heartbeatReceiveMs})
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        }
+
+        if (brokerPoolSize > 0 || virtualThreads) {
+            config.configureBrokerChannel().executor(channelExecutor("broker", brokerPoolSize, brokerQueueCapacity));
+        }
+        if (notificationReplayInterceptor != null) {
+            config.configureBrokerChannel().interceptors(notificationReplayInterceptor);
+        }
+        config.setPreservePublishOrder(preserveOrder);
 
         // Prefijo para los mensajes que llegan AL servidor (desde el cliente)
 
@@ -33,8 +206,107 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 // Permite conexiones desde cualquier origen
                 .setAllowedOriginPatterns("*")
 
-                // Habilitar fallback a SockJS (HTTP long-polling) si WebSocket no está disponible
-                .withSockJS();
+                // Habilitar fallback a SockJS (HTTP long-polling) si WebSocket no está disponible.
+                // Con varios nodos el balanceador debe mantener la afinidad por la cookie JSESSIONID,
+                // porque las peticiones HTTP de una sesión SockJS deben llegar al mismo nodo.
+                .withSockJS()
+                .setSessionCookieNeeded(true)
+                .setHeartbeatTime(sockJsHeartbeatMs);
+
+        registry.setPreserveReceiveOrder(preserveOrder);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.executor(channelExecutor("inbound", inboundPoolSize, inboundQueueCapacity));
+        if (notificationReplayInterceptor != null) {
+            registration.interceptors(notificationReplayInterceptor);
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.executor(channelExecutor("outbound", outboundPoolSize, outboundQueueCapacity));
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Al superar cualquiera de los límites de envío la sesión se cierra (SESSION_NOT_RELIABLE)
+        // en lugar de acumular mensajes en memoria para un cliente que no los consume
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeKb * 1024)
+                .setMessageSizeLimit(messageSizeKb * 1024)
+                .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+                    @Override
+                    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                        openSessions.incrementAndGet();
+                        super.afterConnectionEstablished(session);
+                    }
+
+                    @Override
+                    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                        openSessions.decrementAndGet();
+                        if (CloseStatus.SESSION_NOT_RELIABLE.equals(closeStatus)) {
+                            log.warn("Sesión WebSocket {} desconectada por consumo lento", session.getId());
+                            if (slowConsumerDisconnects != null) {
+                                slowConsumerDisconnects.increment();
+                            }
+                        }
+                        super.afterConnectionClosed(session, closeStatus);
+                    }
+                });
+    }
+
+    // Periodo del log de estadísticas de Spring (sesiones, executors y broker)
+    @EventListener(ApplicationReadyEvent.class)
+    public void configureStatsLogging(ApplicationReadyEvent event) {
+        event.getApplicationContext().getBeanProvider(WebSocketMessageBrokerStats.class)
+                .ifAvailable(stats -> stats.setLoggingPeriod(statsLoggingPeriodMs));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pools.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    // --- Métodos auxiliares ---
+
+    private boolean isRelay() {
+        return "relay".equalsIgnoreCase(brokerMode);
+    }
+
+    // Con la cola llena el hilo que envía ejecuta la tarea (CallerRuns): se frena al productor
+    // en lugar de acumular tareas sin límite
+    private Executor channelExecutor(String channel, int poolSize, int queueCapacity) {
+        Executor delegate;
+        if (virtualThreads) {
+            delegate = new VirtualThreadTaskExecutor("ws-" + channel + "-");
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setThreadNamePrefix("ws-" + channel + "-");
+            pool.setCorePoolSize(poolSize);
+            pool.setMaxPoolSize(poolSize);
+            pool.setQueueCapacity(queueCapacity);
+            pool.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            pool.initialize();
+            pools.add(pool);
+            delegate = pool;
+        }
+
+        MeteredExecutor executor = new MeteredExecutor(delegate);
+        if (meterRegistry != null) {
+            Gauge.builder("websocket.channel.queued", executor, MeteredExecutor::getQueued)
+                    .description("Mensajes esperando un hilo del canal")
+                    .tag("channel", channel)
+                    .register(meterRegistry);
+            Gauge.builder("websocket.channel.active", executor, MeteredExecutor::getActive)
+                    .tag("channel", channel)
+                    .register(meterRegistry);
+            FunctionCounter.builder("websocket.channel.completed", executor, MeteredExecutor::getCompleted)
+                    .tag("channel", channel)
+                    .register(meterRegistry);
+        }
+        return executor;
     }
 
-}
\ No newline at end of file
+}
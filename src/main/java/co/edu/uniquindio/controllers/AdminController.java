@@ -0,0 +1,35 @@
+package co.edu.uniquindio.controllers;
+
+import co.edu.uniquindio.dto.SlowQueryEntry;
+import co.edu.uniquindio.profiling.SlowQueryLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final SlowQueryLog slowQueryLog;
+
+    /// / Últimas consultas lentas de MongoDB en este nodo (Requiere rol ADMIN)
+    ///
+    /// / Las más recientes primero, con documentos examinados frente a devueltos y el plan usado
+    @GetMapping("/slow-queries")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<SlowQueryEntry>> getSlowQueries(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(slowQueryLog.latest(Math.max(1, Math.min(limit, slowQueryLog.getCapacity()))));
+    }
+
+    /// / Vaciar el registro de consultas lentas (Requiere rol ADMIN)
+    @DeleteMapping("/slow-queries")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,55 @@
+package co.edu.uniquindio.controllers;
+
+import co.edu.uniquindio.dto.NotificationResponse;
+import co.edu.uniquindio.services.interfaces.NotificationInboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationInboxService inboxService;
+
+    /// / Notificaciones del buzón del usuario autenticado
+    ///
+    /// / Con since: las posteriores a esa secuencia, en orden (para ponerse al día tras desconectarse)
+    /// / Sin since: las más recientes
+    @GetMapping
+    public ResponseEntity<List<NotificationResponse>> getNotifications(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal String userId) {  // userId viene del token JWT
+
+        return ResponseEntity.ok(inboxService.findSince(userId, since, limit));
+    }
+
+    /// / Cantidad de notificaciones sin leer
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@AuthenticationPrincipal String userId) {
+        return ResponseEntity.ok(Map.of("unread", inboxService.countUnread(userId)));
+    }
+
+    /// / Marcar como leídas las notificaciones indicadas
+    ///
+    /// / Retorna cuántas cambiaron de estado
+    @PostMapping("/read")
+    public ResponseEntity<Map<String, Long>> markRead(
+            @RequestBody List<String> notificationIds,
+            @AuthenticationPrincipal String userId) {
+
+        return ResponseEntity.ok(Map.of("updated", inboxService.markRead(userId, notificationIds)));
+    }
+
+    /// / Marcar como leídas todas las notificaciones del usuario
+    @PostMapping("/read-all")
+    public ResponseEntity<Map<String, Long>> markAllRead(@AuthenticationPrincipal String userId) {
+        return ResponseEntity.ok(Map.of("updated", inboxService.markAllRead(userId)));
+    }
+}
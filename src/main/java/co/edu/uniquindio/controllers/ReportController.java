@@ -5,13 +5,14 @@ import co.edu.uniquindio.exceptions.ForbiddenActionException;
 import co.edu.uniquindio.exceptions.ResourceNotFoundException;
 import co.edu.uniquindio.model.enums.ReportStatus;
 import co.edu.uniquindio.utils.JwtUtil;
+import co.edu.uniquindio.utils.ReportJsonCodec;
 import co.edu.uniquindio.services.interfaces.ReportService;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,6 +29,7 @@ import java.util.List;
 public class ReportController {
     private final ReportService reportService;
     private final JwtUtil jwtUtil;
+    private final ReportJsonCodec reportJsonCodec;
 
     /// / Crear un nuevo reporte con datos multipart (texto + imágenes)
     ///
@@ -41,13 +43,11 @@ public class ReportController {
             @RequestParam(value = "images", required = false) List<MultipartFile> images,
             @RequestParam("userId") String userId
     ) {
-        ObjectMapper mapper = new ObjectMapper();
         LocationDTO location;
         List<String> categories;
         try {
-            location = mapper.readValue(locationJson, LocationDTO.class);
-            categories = mapper.readValue(categoriesJson, new TypeReference<>() {
-            });
+            location = reportJsonCodec.readLocation(locationJson);
+            categories = reportJsonCodec.readCategories(categoriesJson);
         } catch (Exception e) {
             throw new RuntimeException("Error al convertir datos JSON", e);
         }
@@ -72,10 +72,9 @@ public class ReportController {
         String userId = jwtUtil.extractUserId(token);
 
         // 2. Parsea el JSON del reporte
-        ObjectMapper mapper = new ObjectMapper();
         ReportRequest request;
         try {
-            request = mapper.readValue(reportJson, ReportRequest.class);
+            request = reportJsonCodec.readReportRequest(reportJson);
         } catch (Exception e) {
             throw new RuntimeException("Error al parsear el reporte", e);
         }
@@ -112,7 +111,8 @@ public class ReportController {
 
     /// / Filtrar reportes (Admin) con salida en PDF o JSON
     ///
-    /// / Retorna lista de reportes filtrados o PDF generado
+    /// / Retorna lista de reportes filtrados (paginada con page/size) o PDF generado
+    /// / Con format=ndjson (un reporte por línea) o format=stream (arreglo JSON) se envían a medida que se leen
     @GetMapping("/admin/filter")
     @PreAuthorize("hasRole('ADMIN')")
     public void filterReportsAdmin(
@@ -124,6 +124,8 @@ public class ReportController {
             @RequestParam(required = false) Double lng,
             @RequestParam(required = false) Double radius,
             @RequestParam(defaultValue = "web") String format,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "50") int size,
             HttpServletResponse response,
             @RequestHeader("Authorization") String authHeader
     ) throws IOException {
@@ -134,13 +136,24 @@ public class ReportController {
 
         if ("pdf".equalsIgnoreCase(format)) {
             reportService.generatePdfReport(status, categories, startDate, endDate, lat, lng, radius, response);
+        } else if ("ndjson".equalsIgnoreCase(format) || "stream".equalsIgnoreCase(format)) {
+            // Exportación por streaming desde el cursor de MongoDB (memoria constante)
+            reportService.streamReportsJson(
+                    new ReportFilterRequest(categories, status, startDate, endDate, lat, lng, radius),
+                    adminId,
+                    "ndjson".equalsIgnoreCase(format),
+                    response
+            );
         } else {
+            // Sin página se conserva el comportamiento anterior (todos los resultados)
+            Pageable pageable = page != null ? PageRequest.of(page, size) : Pageable.unpaged();
             List<ReportResponse> reports = reportService.getReportsWithFilters(
                     new ReportFilterRequest(categories, status, startDate, endDate, lat, lng, radius),
+                    pageable,
                     adminId
             );
             response.setContentType("application/json");
-            new ObjectMapper().writeValue(response.getWriter(), reports);
+            reportJsonCodec.writeReports(response.getWriter(), reports);
         }
     }
 
@@ -242,6 +255,29 @@ public class ReportController {
         return ResponseEntity.ok(reports);
     }
 
+    /// / Obtener los reportes de un usuario paginados por cursor (más recientes primero)
+    ///
+    /// / Retorna una página de reportes y el cursor de la siguiente (null si no hay más)
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<ReportPageResponse> getReportsByUserPage(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reportService.getReportsByUserIdPage(userId, cursor, size));
+    }
+
+    /// / Listar reportes no anónimos por estado y/o categorías, paginados por cursor
+    ///
+    /// / Retorna una página de reportes y el cursor de la siguiente (null si no hay más)
+    @GetMapping("/feed")
+    public ResponseEntity<ReportPageResponse> getReportsFeed(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reportService.getReportsFeed(status, categories, cursor, size));
+    }
+
     /// / Obtener un reporte específico por su ID
     ///
     /// / Retorna detalle completo del reporte
@@ -3,21 +3,31 @@ package co.edu.uniquindio.controllers;
 import co.edu.uniquindio.events.NewReportEvent;
 import co.edu.uniquindio.dto.NearbyReportNotification;
 import co.edu.uniquindio.events.ReportStatusChangedEvent;
+import co.edu.uniquindio.services.interfaces.NotificationAggregator;
+import co.edu.uniquindio.websocket.ReportSubscriptionRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 
 @Controller
 @RequiredArgsConstructor
 public class ReportNotificationController {
 
+    private final NotificationAggregator notificationAggregator;
+    private final ReportSubscriptionRegistry subscriptionRegistry;
     private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
 
     /// / Notificar a usuarios cercanos sobre nuevos reportes en su área
     ///
-    /// / Envía notificación con detalles del reporte y distancia al usuario afectado
+    /// / Envía notificación con detalles del reporte y distancia al usuario afectado (agrupada en /queue/notifications)
     @EventListener
     public void handleNewReportEvent(NewReportEvent event) {
         NearbyReportNotification notification = NearbyReportNotification.builder()
@@ -28,16 +38,12 @@ public class ReportNotificationController {
                 .timestamp(java.time.LocalDateTime.now().toString())
                 .build();
 
-        messagingTemplate.convertAndSendToUser(
-                event.getUserId(),
-                "/queue/nearby-reports",
-                notification
-        );
+        notificationAggregator.send(event.getUserId(), NotificationAggregator.NEARBY_REPORT, notification);
     }
 
     /// / Notificar cambio de estado de un reporte al usuario dueño
     ///
-    /// / Envía mensaje de texto con el estado anterior y nuevo
+    /// / Envía mensaje de texto con el estado anterior y nuevo al dueño, y el detalle a los suscriptores del reporte
     @EventListener
     public void handleReportStatusChanged(ReportStatusChangedEvent event) {
         String mensaje = String.format(
@@ -47,11 +53,25 @@ public class ReportNotificationController {
                 event.getNewStatus()
         );
 
-        // Envía SOLO al usuario dueño del reporte (usando su ID)
-        messagingTemplate.convertAndSendToUser(
-                event.getUserId(),          // ID del usuario
-                "/queue/status-updates",    // Cola privada para el usuario
-                mensaje
-        );
+        // Envía al usuario dueño del reporte (usando su ID), agrupado con sus demás notificaciones
+        notificationAggregator.send(event.getUserId(), NotificationAggregator.STATUS_UPDATE, mensaje);
+
+        // Y una sola publicación en /topic/reports/{id}/status: el broker la entrega solo a los suscriptores de ese reporte
+        String reportId = event.getReport().getId();
+        DistributionSummary.builder("notifications.fanout")
+                .description("Usuarios notificados por evento")
+                .baseUnit("users")
+                .tag("source", "status-subscribers")
+                .register(meterRegistry)
+                .record(subscriptionRegistry.getSubscribers(reportId).size()); // Solo los de este nodo
+        if (subscriptionRegistry.shouldPublish(reportId)) {
+            Map<String, String> payload = Map.of(
+                    "reportId", reportId,
+                    "oldStatus", event.getOldStatus(),
+                    "newStatus", event.getNewStatus(),
+                    "timestamp", LocalDateTime.now().toString()
+            );
+            messagingTemplate.convertAndSend(ReportSubscriptionRegistry.statusDestination(reportId), payload);
+        }
     }
 }
\ No newline at end of file
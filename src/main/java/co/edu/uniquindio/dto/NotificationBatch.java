@@ -0,0 +1,9 @@
+package co.edu.uniquindio.dto;
+
+import java.util.List;
+
+// Un solo frame en /user/queue/notifications con las notificaciones acumuladas, en orden de llegada
+public record NotificationBatch(
+        List<NotificationItem> notifications
+) {
+}
@@ -0,0 +1,11 @@
+package co.edu.uniquindio.dto;
+
+public record NotificationItem(
+        String id, // ID en el buzón (para marcarla como leída)
+        long sequence, // Por usuario, persistida: el cliente ordena frames en vivo y reenviados, descarta duplicados
+                       // y envía la última recibida como "since" al reconectarse (0 = buzón no disponible, sin cursor)
+        String type,
+        Object payload,
+        String timestamp
+) {
+}
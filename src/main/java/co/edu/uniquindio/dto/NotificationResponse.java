@@ -0,0 +1,23 @@
+package co.edu.uniquindio.dto;
+
+import co.edu.uniquindio.model.Notification;
+
+public record NotificationResponse(
+        String id,
+        long sequence,
+        String type,
+        Object payload,
+        boolean read,
+        String createdAt
+) {
+    public static NotificationResponse fromNotification(Notification notification) {
+        return new NotificationResponse(
+                notification.getId(),
+                notification.getSequence(),
+                notification.getType(),
+                notification.getPayload(),
+                notification.isRead(),
+                notification.getCreatedAt() != null ? notification.getCreatedAt().toString() : null
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package co.edu.uniquindio.dto;
+
+import co.edu.uniquindio.exceptions.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Cursor de paginación por keyset (fecha + id del último reporte de la página)
+ * Se envía al cliente codificado en Base64 URL-safe
+ */
+public record ReportCursor(
+        LocalDateTime date,
+        String id
+) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = date + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReportCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ReportCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new BusinessException("INVALID_CURSOR", "Cursor de paginación inválido");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package co.edu.uniquindio.dto;
+
+import java.util.List;
+
+public record ReportPageResponse(
+        List<ReportResponse> items,
+        String nextCursor // null cuando no hay más páginas
+) {
+}
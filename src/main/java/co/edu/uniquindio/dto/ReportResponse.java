@@ -16,6 +16,7 @@ public record ReportResponse(
         int ratingsImportant,
         String userId,
         List<String> imageUrls,
+        String mediaStatus,
         String rejectionReason,
         //boolean isLikedByCurrentUser,
         String message
@@ -0,0 +1,16 @@
+package co.edu.uniquindio.dto;
+
+public record SlowQueryEntry(
+        String timestamp,
+        String database,
+        String collection,
+        String command, // find, aggregate, count, update...
+        String shape, // Filtro/orden/pipeline con los valores reemplazados por "?"; null si el comando no se muestreó
+        double durationMs,
+        Integer docsReturned, // Documentos en la primera respuesta (null si el comando no devuelve documentos)
+        Long docsExamined, // De explain (executionStats); null si no se pudo explicar
+        Long keysExamined,
+        String planSummary, // Etapas del plan ganador, p. ej. "FETCH <- IXSCAN status_date_id" o "COLLSCAN"
+        boolean collectionScan
+) {
+}
@@ -3,6 +3,8 @@ package co.edu.uniquindio.model;
 import co.edu.uniquindio.model.enums.CategoryStatus;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
@@ -11,6 +13,11 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "categories")
+// findByName / existsByNameAndStatus y findAllByStatus / findByStatusNot
+@CompoundIndexes({
+        @CompoundIndex(name = "name_status", def = "{'name': 1, 'status': 1}"),
+        @CompoundIndex(name = "status", def = "{'status': 1}")
+})
 public class Category {
     @Id
     private String idCategory;
@@ -1,6 +1,8 @@
 package co.edu.uniquindio.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.*;
 
@@ -12,6 +14,11 @@ import java.util.Date;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "comments")
+// findAllByIdReport y findAllByIdUser
+@CompoundIndexes({
+        @CompoundIndex(name = "idReport_date", def = "{'idReport': 1, 'date': -1}"),
+        @CompoundIndex(name = "idUser_date", def = "{'idUser': 1, 'date': -1}")
+})
 
 public class Comment {
     @Id
@@ -0,0 +1,38 @@
+package co.edu.uniquindio.model;
+
+import co.edu.uniquindio.model.enums.EmailStatus;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Correo pendiente de envío (outbox persistido)
+ * Se guarda antes de enviarse, así un reinicio no pierde correos en cola
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "email_outbox")
+@CompoundIndex(name = "status_nextAttempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class EmailOutbox {
+    @Id
+    private String id;
+    private String to;
+    private String from;
+    private String subject;
+    private String body;
+    private boolean html;
+
+    private EmailStatus status;
+    private int attempts; // Intentos de envío realizados
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt; // Próximo intento (backoff exponencial)
+    private LocalDateTime claimedAt; // Cuándo lo tomó un worker (SENDING); vencido el lease se puede recuperar
+    private LocalDateTime sentAt;
+    private String lastError;
+}
@@ -0,0 +1,35 @@
+package co.edu.uniquindio.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación guardada en el buzón del usuario (colección notifications)
+ * La secuencia es por usuario y la asigna el contador de notification_sequences: crece en el orden
+ * en que se enviaron los frames aunque los envíe otro nodo, y sirve como cursor "since" para la reconexión
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "notifications")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_sequence", def = "{'userId': 1, 'sequence': -1}"),
+        @CompoundIndex(name = "user_read", def = "{'userId': 1, 'read': 1}")
+})
+public class Notification {
+    @Id
+    private String id;
+    private String userId;
+    private long sequence;
+    private String type;
+    private Object payload; // Se guarda como documento/valor JSON simple
+    private boolean read;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package co.edu.uniquindio.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Contador de notificaciones de un usuario (colección notification_sequences)
+ * Se incrementa con $inc, así todos los nodos asignan secuencias crecientes del mismo contador
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "notification_sequences")
+public class NotificationSequence {
+    @Id
+    private String userId;
+    private long value; // Última secuencia asignada
+}
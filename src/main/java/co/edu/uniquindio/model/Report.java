@@ -1,8 +1,11 @@
 package co.edu.uniquindio.model;
 
+import co.edu.uniquindio.model.enums.MediaStatus;
 import co.edu.uniquindio.model.enums.ReportStatus;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
 import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -12,11 +15,22 @@ import java.time.LocalDateTime;
 
 import org.springframework.data.mongodb.core.mapping.Field;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Builder
 @Document("reports")
+// Índices para la paginación por cursor (fecha + id descendentes) de cada listado
+@CompoundIndexes({
+        @CompoundIndex(name = "idUser_date_id", def = "{'idUser': 1, 'date': -1, '_id': -1}"),
+        // También los filtros de administración (findByFilters) por estado + rango de fechas; el radio usa el 2dsphere de location
+        @CompoundIndex(name = "status_date_id", def = "{'status': 1, 'date': -1, '_id': -1}"),
+        @CompoundIndex(name = "categories_date_id", def = "{'categories': 1, 'date': -1, '_id': -1}"),
+        @CompoundIndex(name = "anonymous_date_id", def = "{'anonymous': 1, 'date': -1, '_id': -1}"),
+        // findByStatusAndCategoriesIn y el feed filtrado por estado y categorías
+        @CompoundIndex(name = "status_categories_date_id", def = "{'status': 1, 'categories': 1, 'date': -1, '_id': -1}"),
+        // Filtros solo por rango de fechas y listados completos en el orden por defecto
+        @CompoundIndex(name = "date_id", def = "{'date': -1, '_id': -1}")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -54,9 +68,7 @@ public class Report {
     private boolean anonymous = false;
     private List<String> categories;
     private List<String> imageUrls;
-
-    @Field("likedBy")
-    private List<String> likedBy = new ArrayList<>();
+    private MediaStatus mediaStatus; // PENDING_MEDIA mientras las imágenes se suben en segundo plano
 
 
 }
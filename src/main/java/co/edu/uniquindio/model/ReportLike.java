@@ -0,0 +1,32 @@
+package co.edu.uniquindio.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de "importante" de un usuario sobre un reporte
+ * Reemplaza las listas Report.likedBy y User.likedReports, que crecían sin límite
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "report_likes")
+@CompoundIndexes({
+        // Un usuario solo puede marcar una vez cada reporte
+        @CompoundIndex(name = "report_user", def = "{'reportId': 1, 'userId': 1}", unique = true),
+        @CompoundIndex(name = "user_date", def = "{'userId': 1, 'date': -1}")
+})
+public class ReportLike {
+    @Id
+    private String id;
+    private String reportId;
+    private String userId;
+    private LocalDateTime date;
+}
@@ -11,7 +11,6 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -30,6 +29,9 @@ public class User {
     private String id;
     private String name;
     private String phone;
+    // Único en toda la colección, también para los usuarios que findByEmail excluye (status DELETED);
+    // el registro valida con existsByEmail, que tiene el mismo alcance. El índice único lo crea
+    // MongoIndexVerifier (UNIQUE_FIELDS) tras comprobar que no hay correos duplicados
     private String email;
     private String password;
     private String address;
@@ -41,18 +43,14 @@ public class User {
     private GeoJsonPoint location;
 
     @Field("active")
+    @Builder.Default // Sin esto User.builder() dejaba active=false en todos los usuarios registrados
     private boolean active = true;
 
     @Field("deactivationDate")
     private LocalDateTime deactivationDate;
 
-    private List<String> reports;
     private List<ActivationCode> activationCodes;
     private List<ResetCode> resetCodes;
 
-    @Field("likedReports")
-    private List<String> likedReports = new ArrayList<>();
-
-
 }
 
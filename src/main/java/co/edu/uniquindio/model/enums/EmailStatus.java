@@ -0,0 +1,8 @@
+package co.edu.uniquindio.model.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
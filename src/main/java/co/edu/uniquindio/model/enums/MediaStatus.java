@@ -0,0 +1,7 @@
+package co.edu.uniquindio.model.enums;
+
+public enum MediaStatus {
+    PENDING_MEDIA,
+    READY,
+    FAILED
+}
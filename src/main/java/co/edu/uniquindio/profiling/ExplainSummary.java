@@ -0,0 +1,77 @@
+package co.edu.uniquindio.profiling;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumen de la salida de explain (verbosity executionStats) de find, aggregate, count y distinct
+ * - plan: etapas del plan ganador de la final a la primera, con el índice usado ("FETCH <- IXSCAN status_date_id")
+ * - Documentos y claves examinados frente a documentos devueltos
+ */
+public record ExplainSummary(String plan, Long docsExamined, Long keysExamined, Long returned) {
+
+    public static ExplainSummary of(Document explain) {
+        Document source = planSource(explain);
+        Document stats = source.get("executionStats", Document.class);
+        Document planner = source.get("queryPlanner", Document.class);
+        return new ExplainSummary(
+                planner != null ? summarize(winningPlan(planner)) : null,
+                stats != null ? toLong(stats.get("totalDocsExamined")) : null,
+                stats != null ? toLong(stats.get("totalKeysExamined")) : null,
+                stats != null ? toLong(stats.get("nReturned")) : null);
+    }
+
+    public boolean collectionScan() {
+        return plan != null && plan.contains("COLLSCAN");
+    }
+
+    // --- Métodos auxiliares ---
+
+    // aggregate puede devolver el plan en la primera etapa ($cursor) en lugar del nivel superior
+    private static Document planSource(Document explain) {
+        if (explain.containsKey("queryPlanner")) {
+            return explain;
+        }
+        List<?> stages = explain.getList("stages", Object.class);
+        if (stages != null && !stages.isEmpty() && stages.get(0) instanceof Document first
+                && first.get("$cursor") instanceof Document cursor) {
+            return cursor;
+        }
+        return explain;
+    }
+
+    // Con el motor SBE el plan viene dentro de winningPlan.queryPlan
+    private static Document winningPlan(Document planner) {
+        Document winning = planner.get("winningPlan", Document.class);
+        if (winning != null && winning.get("queryPlan") instanceof Document queryPlan) {
+            return queryPlan;
+        }
+        return winning;
+    }
+
+    private static String summarize(Document stage) {
+        List<String> stages = new ArrayList<>();
+        Document current = stage;
+        while (current != null) {
+            String name = current.getString("stage");
+            String index = current.getString("indexName");
+            if (name != null) {
+                stages.add(index != null ? name + " " + index : name);
+            }
+            if (current.get("inputStage") instanceof Document input) {
+                current = input;
+            } else if (current.get("inputStages") instanceof List<?> inputs && !inputs.isEmpty() && inputs.get(0) instanceof Document first) {
+                current = first;
+            } else {
+                current = null;
+            }
+        }
+        return stages.isEmpty() ? null : String.join(" <- ", stages);
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
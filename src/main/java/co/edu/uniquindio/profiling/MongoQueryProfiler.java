@@ -0,0 +1,307 @@
+package co.edu.uniquindio.profiling;
+
+import co.edu.uniquindio.dto.SlowQueryEntry;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CommandListener del cliente de MongoDB (se registra en MongoProfilingConfig):
+ * - Registra los documentos devueltos por consulta (mongodb.query.returned, por colección y comando);
+ *   la latencia por comando ya la publica Spring Boot como mongodb.driver.commands
+ * - Las consultas que superan slow-ms se cuentan (mongodb.query.slow) y se guardan en SlowQueryLog
+ *   con su forma (valores reemplazados por "?") y, si se puede, el resultado de explain (executionStats):
+ *   documentos y claves examinados frente a devueltos y el resumen del plan (mongodb.query.collscan si es COLLSCAN)
+ * - explain se ejecuta en un hilo aparte con cola acotada; si la cola está llena la consulta se guarda sin plan
+ * - Copiar el comando en cada consulta es caro: solo se copia 1 de cada capture-every comandos. Las consultas lentas
+ *   no muestreadas se cuentan y se registran igual, pero sin forma ni plan
+ * - Los medidores se crean una vez por (colección, comando) y se reutilizan
+ */
+@Component
+@Slf4j
+public class MongoQueryProfiler implements CommandListener {
+
+    private static final Set<String> PROFILED_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "getMore", "update", "delete", "findAndModify");
+    private static final Set<String> EXPLAINABLE_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+    // Campos de sesión y transporte que no forman parte de la consulta (y que explain no acepta)
+    private static final Set<String> TRANSPORT_FIELDS = Set.of(
+            "$db", "lsid", "$clusterTime", "txnNumber", "$readPreference", "autocommit", "startTransaction",
+            "readConcern", "writeConcern", "apiVersion", "apiStrict", "apiDeprecationErrors");
+    private static final int EXPLAIN_QUEUE_CAPACITY = 100;
+
+    private final SlowQueryLog slowQueryLog;
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final boolean explainEnabled;
+    private final int captureEvery;
+
+    private final AtomicLong startedCount = new AtomicLong();
+    private final Map<Integer, StartedCommand> inFlight = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> returnedSummaries = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> slowCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> collscanCounters = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY), new CustomizableThreadFactory("mongo-explain-"),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    // ObjectProvider: el MongoTemplate depende del cliente que se configura con este listener
+    public MongoQueryProfiler(SlowQueryLog slowQueryLog,
+                              ObjectProvider<MongoTemplate> mongoTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${resqnet.mongo.profiling.slow-ms:100}") long slowMs,
+                              @Value("${resqnet.mongo.profiling.explain:true}") boolean explainEnabled,
+                              @Value("${resqnet.mongo.profiling.capture-every:10}") int captureEvery) {
+        this.slowQueryLog = slowQueryLog;
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+        this.explainEnabled = explainEnabled;
+        this.captureEvery = Math.max(1, captureEvery);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (!PROFILED_COMMANDS.contains(commandName)) {
+            return;
+        }
+        // El documento del evento solo es válido durante esta llamada: se copia lo necesario, y solo en la muestra
+        BsonDocument source = event.getCommand();
+        BsonDocument command = startedCount.getAndIncrement() % captureEvery == 0 ? copyCommand(source) : null;
+        inFlight.put(event.getRequestId(), new StartedCommand(event.getDatabaseName(), collectionOf(commandName, source), commandName, command));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        StartedCommand started = inFlight.remove(event.getRequestId());
+        if (started == null) {
+            return;
+        }
+        Integer returned = docsReturned(started.commandName(), event.getResponse());
+        if (returned != null) {
+            returnedSummaries.computeIfAbsent(new MeterKey(started.collection(), started.commandName()),
+                    key -> DistributionSummary.builder("mongodb.query.returned")
+                            .description("Documentos devueltos por consulta")
+                            .tag("collection", key.collection())
+                            .tag("command", key.command())
+                            .register(meterRegistry))
+                    .record(returned);
+        }
+
+        long elapsedNanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (elapsedNanos >= slowThresholdNanos) {
+            onSlowQuery(started, elapsedNanos, returned);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlight.remove(event.getRequestId());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void onSlowQuery(StartedCommand started, long elapsedNanos, Integer returned) {
+        slowCounters.computeIfAbsent(new MeterKey(started.collection(), started.commandName()),
+                key -> Counter.builder("mongodb.query.slow")
+                        .description("Consultas por encima del umbral de lentitud")
+                        .tag("collection", key.collection())
+                        .tag("command", key.command())
+                        .register(meterRegistry))
+                .increment();
+
+        String timestamp = LocalDateTime.now().toString();
+        double durationMs = elapsedNanos / 1_000_000.0;
+        // Sin copia del comando (fuera de la muestra) no hay forma ni explain
+        String shape = started.command() != null ? shapeOf(started.commandName(), started.command()) : null;
+        log.warn("Consulta lenta en {}.{} ({} ms): {} {}", started.database(), started.collection(),
+                String.format("%.1f", durationMs), started.commandName(), shape != null ? shape : "(fuera de la muestra)");
+
+        SlowQueryEntry withoutPlan = new SlowQueryEntry(timestamp, started.database(), started.collection(), started.commandName(),
+                shape, durationMs, returned, null, null, null, false);
+        boolean explainable = explainEnabled && shape != null && EXPLAINABLE_COMMANDS.contains(started.commandName());
+        if (!explainable || explainExecutor.getQueue().remainingCapacity() == 0) {
+            slowQueryLog.add(withoutPlan);
+            return;
+        }
+        explainExecutor.execute(() -> slowQueryLog.add(explain(started, withoutPlan)));
+    }
+
+    private SlowQueryEntry explain(StartedCommand started, SlowQueryEntry withoutPlan) {
+        try {
+            BsonDocument explainCommand = new BsonDocument("explain", started.command())
+                    .append("verbosity", new BsonString("executionStats"));
+            Document result = mongoTemplate.getObject().getMongoDatabaseFactory()
+                    .getMongoDatabase(started.database())
+                    .runCommand(explainCommand);
+
+            ExplainSummary summary = ExplainSummary.of(result);
+            if (summary.collectionScan()) {
+                collscanCounters.computeIfAbsent(started.collection(),
+                        collection -> Counter.builder("mongodb.query.collscan")
+                                .description("Consultas lentas resueltas recorriendo toda la colección")
+                                .tag("collection", collection)
+                                .register(meterRegistry))
+                        .increment();
+            }
+            return new SlowQueryEntry(withoutPlan.timestamp(), withoutPlan.database(), withoutPlan.collection(),
+                    withoutPlan.command(), withoutPlan.shape(), withoutPlan.durationMs(), withoutPlan.docsReturned(),
+                    summary.docsExamined(), summary.keysExamined(), summary.plan(), summary.collectionScan());
+        } catch (RuntimeException e) {
+            log.debug("No se pudo ejecutar explain de {} en {}: {}", started.commandName(), started.collection(), e.getMessage());
+            return withoutPlan;
+        }
+    }
+
+    private static BsonDocument copyCommand(BsonDocument command) {
+        BsonDocument copy = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : command.entrySet()) {
+            String key = entry.getKey();
+            if (TRANSPORT_FIELDS.contains(key)) {
+                continue;
+            }
+            BsonValue value = entry.getValue();
+            // En update/delete solo se conserva la primera sentencia (explain acepta una sola)
+            if (("updates".equals(key) || "deletes".equals(key)) && value.isArray() && !value.asArray().isEmpty()) {
+                copy.append(key, new BsonArray(List.of(copyValue(value.asArray().get(0)))));
+            } else {
+                copy.append(key, copyValue(value));
+            }
+        }
+        return copy;
+    }
+
+    private static BsonValue copyValue(BsonValue value) {
+        if (value.isDocument()) {
+            return value.asDocument().clone();
+        }
+        if (value.isArray()) {
+            return value.asArray().clone();
+        }
+        return value;
+    }
+
+    private static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue target = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return target != null && target.isString() ? target.asString().getValue() : "-";
+    }
+
+    private static Integer docsReturned(String commandName, BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().get("getMore".equals(commandName) ? "nextBatch" : "firstBatch");
+            return batch != null && batch.isArray() ? batch.asArray().size() : null;
+        }
+        return switch (commandName) {
+            case "count", "update", "delete" -> response.containsKey("n") ? response.getNumber("n").intValue() : null;
+            case "distinct" -> response.containsKey("values") ? response.getArray("values").size() : null;
+            case "findAndModify" -> response.containsKey("value") && !response.get("value").isNull() ? 1 : 0;
+            default -> null;
+        };
+    }
+
+    // Forma de la consulta sin datos de usuario: operadores y campos se conservan, los valores se reemplazan por "?"
+    private static String shapeOf(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                appendRedacted(shape, "filter", command.get("filter"));
+                appendAsIs(shape, "sort", command.get("sort"));
+                appendAsIs(shape, "projection", command.get("projection"));
+            }
+            case "aggregate" -> appendRedacted(shape, "pipeline", command.get("pipeline"));
+            case "count" -> appendRedacted(shape, "query", command.get("query"));
+            case "distinct" -> {
+                appendAsIs(shape, "key", command.get("key"));
+                appendRedacted(shape, "query", command.get("query"));
+            }
+            case "update", "delete" -> {
+                BsonValue statements = command.get("update".equals(commandName) ? "updates" : "deletes");
+                if (statements != null && statements.isArray() && !statements.asArray().isEmpty()
+                        && statements.asArray().get(0).isDocument()) {
+                    appendRedacted(shape, "q", statements.asArray().get(0).asDocument().get("q"));
+                }
+            }
+            case "findAndModify" -> {
+                appendRedacted(shape, "query", command.get("query"));
+                appendAsIs(shape, "sort", command.get("sort"));
+            }
+            default -> {
+                // getMore: la forma es la de la consulta original
+            }
+        }
+        return shape.toJson();
+    }
+
+    private static void appendRedacted(BsonDocument shape, String key, BsonValue value) {
+        if (value != null) {
+            shape.append(key, redact(value));
+        }
+    }
+
+    private static void appendAsIs(BsonDocument shape, String key, BsonValue value) {
+        if (value != null) {
+            shape.append(key, value);
+        }
+    }
+
+    private static BsonValue redact(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument redacted = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> redacted.append(key, redact(nested)));
+            return redacted;
+        }
+        if (value.isArray()) {
+            // Arreglos de condiciones ($and, $or, pipeline) se recorren; listas de valores ($in) se resumen
+            BsonArray array = value.asArray();
+            if (!array.isEmpty() && array.get(0).isDocument()) {
+                BsonArray redacted = new BsonArray();
+                array.forEach(element -> redacted.add(redact(element)));
+                return redacted;
+            }
+            return new BsonString("[?]");
+        }
+        return new BsonString("?");
+    }
+
+    // command es null si el comando quedó fuera de la muestra
+    private record StartedCommand(String database, String collection, String commandName, BsonDocument command) {
+    }
+
+    private record MeterKey(String collection, String command) {
+    }
+}
@@ -0,0 +1,52 @@
+package co.edu.uniquindio.profiling;
+
+import co.edu.uniquindio.dto.SlowQueryEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Últimas consultas lentas de MongoDB en memoria (buffer circular de tamaño fijo)
+ * Al llenarse se descarta la más antigua; no se persiste ni se comparte entre nodos
+ */
+@Component
+public class SlowQueryLog {
+
+    private final int capacity;
+    private final Deque<SlowQueryEntry> entries;
+
+    public SlowQueryLog(@Value("${resqnet.mongo.profiling.buffer-size:200}") int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.entries = new ArrayDeque<>(this.capacity);
+    }
+
+    public synchronized void add(SlowQueryEntry entry) {
+        if (entries.size() == capacity) {
+            entries.removeFirst();
+        }
+        entries.addLast(entry);
+    }
+
+    // Las más recientes primero
+    public synchronized List<SlowQueryEntry> latest(int limit) {
+        List<SlowQueryEntry> result = new ArrayList<>(Math.min(limit, entries.size()));
+        Iterator<SlowQueryEntry> iterator = entries.descendingIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,13 @@
+package co.edu.uniquindio.repositories;
+
+import co.edu.uniquindio.model.EmailOutbox;
+import co.edu.uniquindio.model.enums.EmailStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends MongoRepository<EmailOutbox, String> {
+    List<EmailOutbox> findByStatus(EmailStatus status);
+}
@@ -0,0 +1,23 @@
+package co.edu.uniquindio.repositories;
+
+import co.edu.uniquindio.model.ReportLike;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReportLikeRepository extends MongoRepository<ReportLike, String> {
+
+    // Devuelve cuántos documentos se eliminaron (0 si el usuario no había marcado el reporte)
+    long deleteByReportIdAndUserId(String reportId, String userId);
+
+    void deleteByReportId(String reportId);
+
+    @Query(value = "{ 'reportId': ?0 }", fields = "{ 'userId': 1 }")
+    List<ReportLike> findByReportId(String reportId);
+
+    @Query(value = "{ 'userId': ?0 }", fields = "{ 'reportId': 1 }", sort = "{ 'date': -1 }")
+    List<ReportLike> findByUserId(String userId);
+}
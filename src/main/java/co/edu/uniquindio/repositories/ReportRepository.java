@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ReportRepository extends MongoRepository<Report, String> {
+public interface ReportRepository extends MongoRepository<Report, String>, ReportRepositoryCustom {
     void deleteById(String id);
 
     // Busca reportes por estado y categorías (paginados)
@@ -0,0 +1,49 @@
+package co.edu.uniquindio.repositories;
+
+import co.edu.uniquindio.dto.ReportCursor;
+import co.edu.uniquindio.dto.ReportFilterRequest;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.enums.MediaStatus;
+import co.edu.uniquindio.model.enums.ReportStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de reportes que no se pueden expresar como métodos derivados de Spring Data
+ * Uso: Se combina con ReportRepository y se implementa con MongoTemplate
+ */
+public interface ReportRepositoryCustom {
+
+    // Busca reportes aplicando los filtros del administrador en una sola consulta a MongoDB (paginados)
+    List<Report> findByFilters(ReportFilterRequest filter, Pageable pageable);
+
+    // Página por cursor (keyset) de los reportes de un usuario, del más reciente al más antiguo
+    List<Report> findUserPage(String idUser, ReportCursor cursor, int limit);
+
+    // Página por cursor (keyset) de reportes no anónimos, filtrando por estado y/o categorías si se indican
+    List<Report> findFeedPage(ReportStatus status, List<String> categories, ReportCursor cursor, int limit);
+
+    // Recorre los reportes filtrados con un cursor de MongoDB, leyendo en lotes de batchSize (se debe cerrar el Stream)
+    Stream<Report> streamByFilters(ReportFilterRequest filter, int batchSize);
+
+    // Cuenta los reportes que cumplen los filtros sin cargarlos
+    long countByFilters(ReportFilterRequest filter);
+
+    // Aplica solo los campos de update ($set/$inc) si el reporte sigue en expectedStatus, sin reescribir el documento
+    // (no pisa ratingsImportant, imageUrls ni mediaStatus escritos en paralelo). Retorna el reporte actualizado o null
+    Report updateIfStatus(String reportId, ReportStatus expectedStatus, Update update);
+
+    // Ajusta el contador ratingsImportant de forma atómica ($inc); los "me gusta" viven en report_likes.
+    // Un decremento no se aplica si dejaría el contador en negativo. La marca y el $inc son escrituras
+    // separadas: si el proceso cae entre ambas, ReportLikeCounterRepair corrige el contador al arrancar
+    void incrementLikes(String reportId, int delta);
+
+    // Elimina el reporte y retorna el documento tal como estaba al eliminarlo (null si ya no existía)
+    Report removeById(String reportId);
+
+    // Actualiza solo las imágenes y su estado (subida diferida); false si el reporte ya no existe
+    boolean updateMedia(String reportId, List<String> imageUrls, MediaStatus mediaStatus);
+}
@@ -0,0 +1,160 @@
+package co.edu.uniquindio.repositories;
+
+import co.edu.uniquindio.dto.ReportCursor;
+import co.edu.uniquindio.dto.ReportFilterRequest;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.enums.MediaStatus;
+import co.edu.uniquindio.model.enums.ReportStatus;
+import co.edu.uniquindio.utils.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class ReportRepositoryCustomImpl implements ReportRepositoryCustom {
+
+    // Orden estable por defecto: más recientes primero, desempate por id
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.DESC, "_id"));
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Report> findByFilters(ReportFilterRequest filter, Pageable pageable) {
+        Query query = buildFilterQuery(filter);
+        query.with(pageable.getSort().isSorted() ? pageable.getSort() : DEFAULT_SORT);
+        if (pageable.isPaged()) {
+            query.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        includeResponseFields(query);
+        return mongoTemplate.find(query, Report.class);
+    }
+
+    @Override
+    public List<Report> findUserPage(String idUser, ReportCursor cursor, int limit) {
+        return findPage(List.of(Criteria.where("idUser").is(idUser)), cursor, limit);
+    }
+
+    @Override
+    public List<Report> findFeedPage(ReportStatus status, List<String> categories, ReportCursor cursor, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("anonymous").is(false));
+        if (status != null) {
+            criteria.add(Criteria.where("status").is(status));
+        }
+        if (categories != null && !categories.isEmpty()) {
+            criteria.add(Criteria.where("categories").in(categories));
+        }
+        return findPage(criteria, cursor, limit);
+    }
+
+    @Override
+    public Stream<Report> streamByFilters(ReportFilterRequest filter, int batchSize) {
+        Query query = buildFilterQuery(filter).with(DEFAULT_SORT).cursorBatchSize(batchSize);
+        includeResponseFields(query);
+        return mongoTemplate.stream(query, Report.class);
+    }
+
+    @Override
+    public long countByFilters(ReportFilterRequest filter) {
+        return mongoTemplate.count(buildFilterQuery(filter), Report.class);
+    }
+
+    @Override
+    public Report updateIfStatus(String reportId, ReportStatus expectedStatus, Update update) {
+        Query query = new Query(Criteria.where("_id").is(reportId).and("status").is(expectedStatus));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Report.class);
+    }
+
+    @Override
+    public void incrementLikes(String reportId, int delta) {
+        Query query = new Query(Criteria.where("_id").is(reportId));
+        if (delta < 0) {
+            // Nunca por debajo de cero, aunque el contador se haya desviado de report_likes
+            query.addCriteria(Criteria.where("ratingsImportant").gte(-delta));
+        }
+        mongoTemplate.updateFirst(query, new Update().inc("ratingsImportant", delta), Report.class);
+    }
+
+    @Override
+    public Report removeById(String reportId) {
+        return mongoTemplate.findAndRemove(new Query(Criteria.where("_id").is(reportId)), Report.class);
+    }
+
+    @Override
+    public boolean updateMedia(String reportId, List<String> imageUrls, MediaStatus mediaStatus) {
+        Update update = new Update().set("mediaStatus", mediaStatus);
+        if (imageUrls != null) {
+            update.set("imageUrls", imageUrls);
+        }
+        return mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(reportId)), update, Report.class).getMatchedCount() > 0;
+    }
+
+    // --- Métodos auxiliares ---
+
+    // Keyset: (date, _id) < (cursor.date, cursor.id) con el mismo orden que los índices {..., date: -1, _id: -1}
+    private List<Report> findPage(List<Criteria> criteria, ReportCursor cursor, int limit) {
+        List<Criteria> all = new ArrayList<>(criteria);
+        if (cursor != null) {
+            Object cursorId = ObjectId.isValid(cursor.id()) ? new ObjectId(cursor.id()) : cursor.id();
+            all.add(new Criteria().orOperator(
+                    Criteria.where("date").lt(cursor.date()),
+                    Criteria.where("date").is(cursor.date()).and("_id").lt(cursorId)));
+        }
+
+        Query query = new Query(new Criteria().andOperator(all)).with(DEFAULT_SORT).limit(limit);
+        includeResponseFields(query);
+        return mongoTemplate.find(query, Report.class);
+    }
+
+    // Traduce ReportFilterRequest a un único documento de consulta
+    private Query buildFilterQuery(ReportFilterRequest filter) {
+        List<Criteria> criteria = new ArrayList<>();
+
+        // Una lista vacía de categorías no coincide con ningún reporte (igual que el filtro anterior en memoria)
+        if (filter.categories() != null) {
+            criteria.add(Criteria.where("categories").in(filter.categories()));
+        }
+
+        // Los estados se guardan con el nombre del enum
+        if (filter.status() != null) {
+            criteria.add(Criteria.where("status").is(filter.status().toUpperCase()));
+        }
+
+        // Rango de fechas inclusivo en ambos extremos (por día)
+        if (filter.startDate() != null || filter.endDate() != null) {
+            Criteria date = Criteria.where("date");
+            if (filter.startDate() != null) {
+                date.gte(filter.startDate().atStartOfDay());
+            }
+            if (filter.endDate() != null) {
+                date.lt(filter.endDate().plusDays(1).atStartOfDay());
+            }
+            criteria.add(date);
+        }
+
+        // Radio en km -> radianes con el mismo radio que GeoUtils.distanceKm (distancias mostradas) -> $geoWithin + $centerSphere sobre el índice 2dsphere
+        if (filter.latitude() != null && filter.longitude() != null && filter.radiusKm() != null) {
+            Circle area = new Circle(new Point(filter.longitude(), filter.latitude()), GeoUtils.kmToRadians(filter.radiusKm()));
+            criteria.add(Criteria.where("location").withinSphere(area));
+        }
+
+        return criteria.isEmpty() ? new Query() : new Query(new Criteria().andOperator(criteria));
+    }
+
+    // Proyección con solo los campos que se usan para construir ReportResponse
+    private void includeResponseFields(Query query) {
+        query.fields().include("title", "description", "date", "location", "categories", "status", "ratingsImportant", "idUser", "imageUrls", "mediaStatus", "rejectionReason");
+    }
+}
@@ -20,6 +20,9 @@ public interface UserRepository extends MongoRepository<User, String> {
     @Query(value = "{ 'status': { $ne: 'DELETED' }, 'email': ?0 }")
     Optional<User> findByEmail(String email);
 
+    // Mismo alcance que el índice único de email (toda la colección), para validar el registro
+    boolean existsByEmail(String email);
+
     Optional<User> findById(String id);
 
 
@@ -1,5 +1,6 @@
 package co.edu.uniquindio.services.implementations;
 
+import co.edu.uniquindio.cache.CategoryRegistry;
 import co.edu.uniquindio.dto.CategoryRequest;
 import co.edu.uniquindio.dto.CategoryResponse;
 import co.edu.uniquindio.exceptions.BusinessException;
@@ -22,6 +23,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final ReportRepository reportRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryRegistry categoryRegistry;
 
     @Override
     public CategoryResponse save(CategoryRequest category) {
@@ -30,9 +32,11 @@ public class CategoryServiceImpl implements CategoryService {
         Category newCategory = categoryMapper.parseOf(category);
         newCategory.setStatus(CategoryStatus.ACTIVE);
 
-        return categoryMapper.toCategoryResponse(
+        CategoryResponse response = categoryMapper.toCategoryResponse(
                 categoryRepository.save(newCategory)
         );
+        categoryRegistry.invalidate();
+        return response;
     }
 
     @Override
@@ -46,17 +50,16 @@ public class CategoryServiceImpl implements CategoryService {
         existingCategory.setName(category.name());
         existingCategory.setDescription(category.description());
 
-        return categoryMapper.toCategoryResponse(
+        CategoryResponse response = categoryMapper.toCategoryResponse(
                 categoryRepository.save(existingCategory)
         );
+        categoryRegistry.invalidate();
+        return response;
     }
 
     @Override
     public List<CategoryResponse> findAll() {
-        return categoryRepository.findAllByStatus(CategoryStatus.ACTIVE)
-                .stream()
-                .map(categoryMapper::toCategoryResponse)
-                .toList();
+        return categoryRegistry.findAllByStatus(CategoryStatus.ACTIVE);
     }
 
     @Override
@@ -81,13 +84,14 @@ public class CategoryServiceImpl implements CategoryService {
         // Eliminación lógica
         category.setStatus(CategoryStatus.DELETED);
         categoryRepository.save(category);
+        categoryRegistry.invalidate();
     }
 
     @Override
     public List<String> getAllCategoryNames() {
-        return categoryRepository.findAllByStatus(CategoryStatus.ACTIVE)
+        return categoryRegistry.findAllByStatus(CategoryStatus.ACTIVE)
                 .stream()
-                .map(Category::getName)
+                .map(CategoryResponse::name)
                 .toList();
     }
 
@@ -104,9 +108,6 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     public List<CategoryResponse> findAllByStatus(CategoryStatus status) {
-        return categoryRepository.findAllByStatus(status)
-                .stream()
-                .map(categoryMapper::toCategoryResponse)
-                .toList();
+        return categoryRegistry.findAllByStatus(status);
     }
 }
\ No newline at end of file
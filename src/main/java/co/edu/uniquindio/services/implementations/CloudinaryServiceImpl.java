@@ -3,49 +3,141 @@ package co.edu.uniquindio.services.implementations;
 import co.edu.uniquindio.services.interfaces.CloudinaryService;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
 public class CloudinaryServiceImpl implements CloudinaryService {
 
     private final Cloudinary cloudinary;
+    private final ExecutorService uploadExecutor;
+    private final long uploadTimeoutSeconds;
 
     @Autowired
-    public CloudinaryServiceImpl(Cloudinary cloudinary) {
+    public CloudinaryServiceImpl(Cloudinary cloudinary,
+                                 @Value("${resqnet.images.upload-threads:4}") int uploadThreads,
+                                 @Value("${resqnet.images.upload-timeout-seconds:30}") long uploadTimeoutSeconds) {
         this.cloudinary = cloudinary;
+        this.uploadExecutor = Executors.newFixedThreadPool(uploadThreads, new CustomizableThreadFactory("cloudinary-upload-"));
+        this.uploadTimeoutSeconds = uploadTimeoutSeconds;
     }
 
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdownNow();
+    }
+
+    /// / Sube las imágenes en paralelo (pool acotado) y retorna las URLs en el mismo orden recibido
+    ///
+    /// / Si alguna falla o excede el tiempo límite, se eliminan de Cloudinary las que sí se subieron
     @Override
     public List<String> uploadImages(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) return new ArrayList<>();
+        return uploadAll(files.stream().<Callable<UploadedImage>>map(file -> () -> upload(file)).toList());
+    }
+
+    /// / Sube archivos que ya están en disco local (p. ej. imágenes en cola de subida diferida)
+    ///
+    /// / Mismo comportamiento que uploadImages: en paralelo, en orden y con limpieza ante errores
+    @Override
+    public List<String> uploadFiles(List<Path> files) {
+        if (files == null || files.isEmpty()) return new ArrayList<>();
+        return uploadAll(files.stream().<Callable<UploadedImage>>map(path -> () -> upload(path)).toList());
+    }
+
+    /// / Elimina imágenes ya subidas (p. ej. de un reporte que se eliminó mientras se subían)
+    @Override
+    public void deleteImages(List<String> imageUrls) {
+        if (imageUrls == null) return;
+        imageUrls.forEach(this::deleteImageByUrl);
+    }
+
+    //  Métodos auxiliares
+
+    private List<String> uploadAll(List<Callable<UploadedImage>> uploads) {
         List<String> imageUrls = new ArrayList<>();
-        if (files == null || files.isEmpty()) return imageUrls;
-
-        for (MultipartFile file : files) {
-            try {
-                Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap("folder", "resqnet/reports", "resource_type", "auto"));
-                String url = (String) uploadResult.get("secure_url");
-                imageUrls.add(url);
-                log.info("Imagen subida exitosamente: {}", url);
-            } catch (IOException e) {
-                log.error("Error subiendo imagen a Cloudinary: {}", e.getMessage());
-                throw new RuntimeException("Error al subir la imagen", e);
+
+        // Un solo plazo para todo el lote, contado desde el envío (no uploadTimeoutSeconds por cada imagen)
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(uploadTimeoutSeconds);
+        UploadBatch batch = new UploadBatch();
+        List<Future<UploadedImage>> futures = uploads.stream()
+                .map(upload -> uploadExecutor.submit(() -> batch.register(upload.call())))
+                .toList();
+
+        try {
+            for (Future<UploadedImage> future : futures) {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                imageUrls.add(future.get(remaining, TimeUnit.NANOSECONDS).url());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(batch, futures);
+            throw new RuntimeException("Se interrumpió la subida de imágenes", e);
+        } catch (ExecutionException | TimeoutException e) {
+            abort(batch, futures);
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            log.error("Error subiendo imagen a Cloudinary: {}", cause.getMessage());
+            throw new RuntimeException("Error al subir la imagen", cause);
         }
+
         log.info("Todas las imágenes fueron subidas exitosamente.");
         return imageUrls;
     }
 
-    //  Métodos auxiliares
+    // Copia el archivo a disco (sin cargarlo completo en memoria) y lo envía a Cloudinary como flujo
+    private UploadedImage upload(MultipartFile file) throws IOException {
+        Path tempFile = Files.createTempFile("resqnet-upload-", ".tmp");
+        try {
+            file.transferTo(tempFile);
+            return upload(tempFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private UploadedImage upload(Path file) throws IOException {
+        Map<?, ?> uploadResult = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap("folder", "resqnet/reports", "resource_type", "auto"));
+        UploadedImage image = new UploadedImage((String) uploadResult.get("public_id"), (String) uploadResult.get("secure_url"));
+        log.info("Imagen subida exitosamente: {}", image.url());
+        return image;
+    }
+
+    // Cancela las subidas pendientes y elimina las que ya terminaron
+    private void abort(UploadBatch batch, List<Future<UploadedImage>> futures) {
+        futures.forEach(future -> future.cancel(true));
+        batch.abort().forEach(image -> deleteByPublicId(image.publicId()));
+    }
+
+    private void deleteByPublicId(String publicId) {
+        try {
+            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            log.info("Imagen {} eliminada de Cloudinary tras un error en la subida", publicId);
+        } catch (Exception e) {
+            log.error("Error al eliminar imagen de Cloudinary: " + publicId, e);
+        }
+    }
+
     private void deleteImageByUrl(String imageUrl) {
         try {
             // Extrae el public_id de la URL
@@ -75,4 +167,36 @@ public class CloudinaryServiceImpl implements CloudinaryService {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    private record UploadedImage(String publicId, String url) {
+    }
+
+    /**
+     * Registro de las imágenes subidas en una misma llamada:
+     * - Mientras no haya error, cada subida exitosa queda registrada
+     * - Tras abort(), las subidas que terminen tarde se eliminan de inmediato
+     */
+    private class UploadBatch {
+        private final List<UploadedImage> uploaded = new ArrayList<>();
+        private boolean aborted = false;
+
+        UploadedImage register(UploadedImage image) {
+            boolean lateUpload;
+            synchronized (this) {
+                lateUpload = aborted;
+                if (!lateUpload) {
+                    uploaded.add(image);
+                }
+            }
+            if (lateUpload) {
+                deleteByPublicId(image.publicId());
+            }
+            return image;
+        }
+
+        synchronized List<UploadedImage> abort() {
+            aborted = true;
+            return new ArrayList<>(uploaded);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import co.edu.uniquindio.repositories.ReportRepository;
 import co.edu.uniquindio.repositories.UserRepository;
 import co.edu.uniquindio.services.interfaces.CommentService;
 import co.edu.uniquindio.services.interfaces.EmailService;
+import co.edu.uniquindio.services.interfaces.NotificationAggregator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
@@ -31,6 +32,7 @@ public class CommentServiceImpl implements CommentService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationAggregator notificationAggregator;
 
 
     @Transactional
@@ -55,7 +57,7 @@ public class CommentServiceImpl implements CommentService {
         messagingTemplate.convertAndSend("/topic/reports/" + comment.getIdReport() + "/comments", Map.of("type", "NEW_COMMENT", "commentId", comment.getIdComment(), "content", comment.getContent(), "authorId", comment.getIdUser(), "timestamp", comment.getDate()));
 
         // Notificar al dueño del reporte
-        messagingTemplate.convertAndSendToUser(reportOwnerId, "/queue/notifications", Map.of("type", "NEW_COMMENT_ON_YOUR_REPORT", "reportId", comment.getIdReport(), "message", "Nuevo comentario en tu reporte"));
+        notificationAggregator.send(reportOwnerId, NotificationAggregator.NEW_COMMENT_ON_YOUR_REPORT, Map.of("reportId", comment.getIdReport(), "message", "Nuevo comentario en tu reporte"));
     }
 
     private void notifyAuthorByEmail(String reportOwnerId, String authorName, String commentContent) {
@@ -0,0 +1,253 @@
+package co.edu.uniquindio.services.implementations;
+
+import co.edu.uniquindio.model.EmailOutbox;
+import co.edu.uniquindio.model.enums.EmailStatus;
+import co.edu.uniquindio.repositories.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envío de correos en segundo plano desde el outbox (colección email_outbox):
+ * 1. EmailServiceImpl guarda el correo como PENDING y encola su ID
+ * 2. Un pool de workers toma cada ID, lo marca SENDING de forma atómica y lo envía por SMTP
+ * 3. Si falla, se reprograma con backoff exponencial hasta maxAttempts; luego queda FAILED
+ * Al iniciar se recuperan los correos PENDING; un SENDING solo se recupera cuando su toma (claimedAt)
+ * supera el lease, para no reenviar lo que otra instancia está enviando. La revisión se repite cada lease
+ * Métricas: mail.outbox.queue (correos en cola), mail.outbox.sent / mail.outbox.failed y mail.outbox.send
+ * (latencia del envío SMTP, con outcome=success|error)
+ */
+@Component
+@Slf4j
+public class EmailOutboxWorker {
+
+    private final JavaMailSender mailSender;
+    private final MongoTemplate mongoTemplate;
+    private final EmailOutboxRepository outboxRepository;
+    private final int workerCount;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long sendingLeaseMillis;
+
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mail-retry-"));
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Timer sendSuccessTimer;
+    private final Timer sendErrorTimer;
+
+    public EmailOutboxWorker(JavaMailSender mailSender,
+                             MongoTemplate mongoTemplate,
+                             EmailOutboxRepository outboxRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${resqnet.mail.workers:2}") int workerCount,
+                             @Value("${resqnet.mail.max-attempts:5}") int maxAttempts,
+                             @Value("${resqnet.mail.backoff-ms:2000}") long backoffMillis,
+                             @Value("${resqnet.mail.sending-lease-ms:300000}") long sendingLeaseMillis) {
+        this.mailSender = mailSender;
+        this.mongoTemplate = mongoTemplate;
+        this.outboxRepository = outboxRepository;
+        this.workerCount = workerCount;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.sendingLeaseMillis = sendingLeaseMillis;
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("mail-worker-"));
+
+        Gauge.builder("mail.outbox.queue", queue, BlockingQueue::size)
+                .description("Correos esperando un worker")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.outbox.sent")
+                .description("Correos enviados")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.outbox.failed")
+                .description("Correos descartados tras agotar los intentos")
+                .register(meterRegistry);
+        this.sendSuccessTimer = sendTimer(meterRegistry, "success");
+        this.sendErrorTimer = sendTimer(meterRegistry, "error");
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::workLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+        retryScheduler.shutdownNow();
+    }
+
+    // Recupera los correos que no se alcanzaron a enviar antes de un reinicio
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPending() {
+        int reclaimed = reclaimExpired();
+        var pending = outboxRepository.findByStatus(EmailStatus.PENDING);
+        pending.forEach(email -> schedule(email.getId(), email.getNextAttemptAt()));
+        if (!pending.isEmpty()) {
+            log.info("Se recuperaron {} correos pendientes del outbox ({} con la toma vencida)", pending.size(), reclaimed);
+        }
+        // Un worker de otra instancia puede caerse después de este arranque
+        retryScheduler.scheduleWithFixedDelay(this::reclaimAndSubmit, sendingLeaseMillis, sendingLeaseMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void submit(String outboxId) {
+        queue.offer(outboxId);
+    }
+
+    // --- Métodos auxiliares ---
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("mail.outbox.send")
+                .description("Duración del envío SMTP de un correo")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // SENDING -> PENDING de los correos cuya toma venció (o que no la registraron); devuelve cuántos
+    private int reclaimExpired() {
+        int reclaimed = 0;
+        while (reclaimOne() != null) {
+            reclaimed++;
+        }
+        return reclaimed;
+    }
+
+    private void reclaimAndSubmit() {
+        try {
+            EmailOutbox email;
+            while ((email = reclaimOne()) != null) {
+                log.warn("Correo {} a {} recuperado: la toma venció sin confirmar el envío", email.getId(), email.getTo());
+                submit(email.getId());
+            }
+        } catch (Exception e) {
+            log.error("Error recuperando correos con la toma vencida", e);
+        }
+    }
+
+    private EmailOutbox reclaimOne() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(Duration.ofMillis(sendingLeaseMillis));
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("status").is(EmailStatus.SENDING)
+                        .orOperator(Criteria.where("claimedAt").lt(expiredBefore), Criteria.where("claimedAt").is(null))),
+                new Update().set("status", EmailStatus.PENDING).unset("claimedAt"),
+                FindAndModifyOptions.options().returnNew(true),
+                EmailOutbox.class);
+    }
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                deliver(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error inesperado en el worker de correo", e);
+            }
+        }
+    }
+
+    private void deliver(String outboxId) {
+        // Solo un worker puede tomar el correo (PENDING -> SENDING)
+        EmailOutbox email = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(outboxId).and("status").is(EmailStatus.PENDING)),
+                new Update().set("status", EmailStatus.SENDING).set("claimedAt", LocalDateTime.now()).inc("attempts", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                EmailOutbox.class);
+        if (email == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            mailSender.send(toMimeMessage(email));
+
+            long elapsed = System.nanoTime() - start;
+            sendSuccessTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            sentCounter.increment();
+
+            mongoTemplate.updateFirst(byId(outboxId),
+                    new Update().set("status", EmailStatus.SENT).set("sentAt", LocalDateTime.now()).unset("lastError").unset("claimedAt"),
+                    EmailOutbox.class);
+            log.info("Correo {} enviado a {} en {} ms", outboxId, email.getTo(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } catch (Exception e) {
+            sendErrorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            handleFailure(email, e);
+        }
+    }
+
+    private void handleFailure(EmailOutbox email, Exception e) {
+        if (email.getAttempts() >= maxAttempts) {
+            failedCounter.increment();
+            mongoTemplate.updateFirst(byId(email.getId()),
+                    new Update().set("status", EmailStatus.FAILED).set("lastError", e.getMessage()).unset("claimedAt"),
+                    EmailOutbox.class);
+            log.error("Correo {} a {} descartado tras {} intentos: {}", email.getId(), email.getTo(), email.getAttempts(), e.getMessage());
+            return;
+        }
+
+        // Backoff exponencial: backoff, 2*backoff, 4*backoff...
+        long delay = backoffMillis * (1L << Math.min(email.getAttempts() - 1, 16));
+        LocalDateTime nextAttempt = LocalDateTime.now().plus(Duration.ofMillis(delay));
+        mongoTemplate.updateFirst(byId(email.getId()),
+                new Update().set("status", EmailStatus.PENDING).set("nextAttemptAt", nextAttempt).set("lastError", e.getMessage()).unset("claimedAt"),
+                EmailOutbox.class);
+        log.warn("Error enviando correo {} a {} (intento {}), se reintenta en {} ms: {}", email.getId(), email.getTo(), email.getAttempts(), delay, e.getMessage());
+        schedule(email.getId(), nextAttempt);
+    }
+
+    private void schedule(String outboxId, LocalDateTime when) {
+        long delay = when == null ? 0 : Math.max(0, Duration.between(LocalDateTime.now(), when).toMillis());
+        if (delay == 0) {
+            submit(outboxId);
+        } else {
+            retryScheduler.schedule(() -> submit(outboxId), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setTo(email.getTo());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), email.isHtml());
+        if (email.getFrom() != null) {
+            helper.setFrom(email.getFrom()); // Remitente
+        }
+        return message;
+    }
+
+    private Query byId(String outboxId) {
+        return new Query(Criteria.where("_id").is(outboxId));
+    }
+}
@@ -1,23 +1,28 @@
 package co.edu.uniquindio.services.implementations;
 
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import co.edu.uniquindio.model.EmailOutbox;
+import co.edu.uniquindio.model.enums.EmailStatus;
+import co.edu.uniquindio.repositories.EmailOutboxRepository;
 import co.edu.uniquindio.services.interfaces.EmailService;
 import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+/**
+ * Los correos ya no se envían en el hilo de la petición:
+ * se guardan en el outbox y EmailOutboxWorker los envía en segundo plano
+ */
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailOutboxWorker outboxWorker;
 
 
     @Override
@@ -26,21 +31,8 @@ public class EmailServiceImpl implements EmailService {
         String body = "Hola,\n\nTu código de activación es: " + activationCode +
                 "\n\nIngresa este código en la plataforma para completar tu registro.\n\nSaludos,\nResQNET";
 
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body, false);
-            helper.setFrom("anamariav749@gmail.com"); // Remitente
-
-            mailSender.send(message);
-            logger.info("Correo de activación enviado a {}", to);
-        } catch (MessagingException e) {
-            logger.error("Error al enviar el correo a {}: {}", to, e.getMessage());
-            throw new RuntimeException("Error al enviar el correo: " + e.getMessage());
-        }
+        enqueue(to, "anamariav749@gmail.com", subject, body, false); // Remitente
+        logger.info("Correo de activación encolado para {}", to);
     }
 
     @Override
@@ -52,29 +44,30 @@ public class EmailServiceImpl implements EmailService {
                 "Este código es válido por 15 minutos.\n\n" +
                 "Si no solicitaste este cambio, ignora este mensaje.";
 
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body, true);
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            throw new RuntimeException("Error al enviar el correo de recuperación: " + e.getMessage());
-        }
+        enqueue(to, null, subject, body, true);
     }
 
     @Override
     public void sendEmail(String to, String subject, String body) throws MessagingException {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
-        } catch (MailException e) {
-            throw new MessagingException("Error enviando email: " + e.getMessage());
-        }
+        enqueue(to, null, subject, body, false);
+    }
+
+    // Guarda el correo en el outbox (persistido) y lo entrega al worker
+    private void enqueue(String to, String from, String subject, String body, boolean html) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox email = outboxRepository.save(EmailOutbox.builder()
+                .to(to)
+                .from(from)
+                .subject(subject)
+                .body(body)
+                .html(html)
+                .status(EmailStatus.PENDING)
+                .attempts(0)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+
+        outboxWorker.submit(email.getId());
     }
 
 
@@ -0,0 +1,216 @@
+package co.edu.uniquindio.services.implementations;
+
+import co.edu.uniquindio.cache.UserLocationIndex;
+import co.edu.uniquindio.events.NewReportEvent;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.User;
+import co.edu.uniquindio.services.interfaces.NearbyNotificationService;
+import co.edu.uniquindio.utils.GeoUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notificación de reportes cercanos fuera del hilo de la petición:
+ * 1. createReport encola el reporte y responde de inmediato
+ * 2. Un hilo despachador vacía la cola en lotes
+ * 3. Los usuarios cercanos de todo el lote salen de una sola búsqueda: el índice en memoria (UserLocationIndex)
+ *    o, mientras carga, una consulta $or a MongoDB con un $centerSphere por reporte
+ * 4. Se publican los NewReportEvent de cada reporte del lote
+ * Métricas: notifications.fanout (usuarios por reporte, source=nearby) y notifications.nearby.queue/lag/dropped
+ */
+@Service
+@Slf4j
+public class NearbyNotificationServiceImpl implements NearbyNotificationService {
+
+    private final MongoTemplate mongoTemplate;
+    private final UserLocationIndex userLocationIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double radiusKm;
+    private final int batchSize;
+    private final BlockingQueue<PendingNotification> queue;
+    private final DistributionSummary fanOutSummary;
+
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private Thread dispatcher;
+
+    public NearbyNotificationServiceImpl(MongoTemplate mongoTemplate,
+                                         UserLocationIndex userLocationIndex,
+                                         ApplicationEventPublisher eventPublisher,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${resqnet.notifications.nearby.radius-km:10}") double radiusKm,
+                                         @Value("${resqnet.notifications.nearby.queue-capacity:10000}") int queueCapacity,
+                                         @Value("${resqnet.notifications.nearby.batch-size:50}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.userLocationIndex = userLocationIndex;
+        this.eventPublisher = eventPublisher;
+        this.radiusKm = radiusKm;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.fanOutSummary = DistributionSummary.builder("notifications.fanout")
+                .description("Usuarios notificados por evento")
+                .baseUnit("users")
+                .tag("source", "nearby")
+                .register(meterRegistry);
+        Gauge.builder("notifications.nearby.queue", queue, BlockingQueue::size)
+                .description("Reportes esperando la búsqueda de usuarios cercanos")
+                .register(meterRegistry);
+        Gauge.builder("notifications.nearby.lag", lastLagMillis, AtomicLong::get)
+                .description("Espera en cola del último reporte procesado")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        FunctionCounter.builder("notifications.nearby.dropped", droppedCount, AtomicLong::get)
+                .description("Reportes omitidos por cola llena")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = Thread.ofVirtual().name("nearby-notifications").start(this::dispatchLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+
+    @Override
+    public boolean enqueue(Report report, String authorId) {
+        boolean accepted = queue.offer(new PendingNotification(report, authorId, System.currentTimeMillis()));
+        if (!accepted) {
+            droppedCount.incrementAndGet();
+            log.warn("Cola de notificaciones llena ({}); se omite la notificación del reporte {}", queue.size(), report.getId());
+        }
+        return accepted;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public long getLastLagMillis() {
+        return lastLagMillis.get();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void dispatchLoop() {
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // Espera el primer elemento y toma el resto disponible hasta completar el lote
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+
+                long now = System.currentTimeMillis();
+                batch.forEach(pending -> lastLagMillis.set(now - pending.enqueuedAt()));
+
+                // Una sola búsqueda por lote; el siguiente lote espera (contrapresión hacia MongoDB)
+                List<List<UserLocationIndex.NearbyUser>> nearbyByReport = findNearbyUsers(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    publish(batch.get(i).report(), nearbyByReport.get(i));
+                }
+                log.debug("Lote de {} reportes notificado. Pendientes: {}", batch.size(), queue.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error procesando lote de notificaciones", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Usuarios cercanos de cada reporte del lote, en la misma posición que el reporte en el lote
+    private List<List<UserLocationIndex.NearbyUser>> findNearbyUsers(List<PendingNotification> batch) {
+        List<List<UserLocationIndex.NearbyUser>> result = new ArrayList<>(batch.size());
+
+        // 1. Índice en memoria (si ya terminó de cargar): cada búsqueda solo revisa las celdas del círculo, sin ir a MongoDB
+        if (userLocationIndex.isLoaded()) {
+            for (PendingNotification pending : batch) {
+                GeoJsonPoint location = pending.report().getLocation();
+                result.add(userLocationIndex.findWithin(location.getY(), location.getX(), radiusKm, pending.authorId()));
+            }
+            return result;
+        }
+
+        // 2. Respaldo: una sola consulta $or de $geoWithin + $centerSphere para todo el lote (solo ID y ubicación)
+        List<Criteria> areas = batch.stream()
+                .map(pending -> Criteria.where("location").withinSphere(new Circle(
+                        new Point(pending.report().getLocation().getX(), pending.report().getLocation().getY()),
+                        GeoUtils.kmToRadians(radiusKm))))
+                .toList();
+        Query query = new Query(new Criteria().orOperator(areas));
+        query.fields().include("location");
+        List<User> candidates = mongoTemplate.find(query, User.class);
+
+        // 3. Reparte los candidatos entre los reportes del lote según la distancia real
+        for (PendingNotification pending : batch) {
+            GeoJsonPoint location = pending.report().getLocation();
+            List<UserLocationIndex.NearbyUser> nearby = new ArrayList<>();
+            for (User user : candidates) {
+                if (user.getLocation() == null || user.getId().equals(pending.authorId())) {
+                    continue;
+                }
+                double distance = GeoUtils.distanceKm(location.getY(), location.getX(), user.getLocation().getY(), user.getLocation().getX());
+                if (distance <= radiusKm) {
+                    nearby.add(new UserLocationIndex.NearbyUser(user.getId(), distance));
+                }
+            }
+            nearby.sort(Comparator.comparingDouble(UserLocationIndex.NearbyUser::distanceKm));
+            result.add(nearby);
+        }
+        return result;
+    }
+
+    private void publish(Report report, List<UserLocationIndex.NearbyUser> nearby) {
+        fanOutSummary.record(nearby.size());
+        if (nearby.isEmpty()) {
+            log.info("No se encontraron usuarios cercanos para notificar el reporte {}", report.getId());
+            return;
+        }
+
+        nearby.forEach(user -> {
+            try {
+                log.debug("Notificando al usuario {} ({} km)", user.userId(), user.distanceKm());
+                eventPublisher.publishEvent(new NewReportEvent(this, report, user.userId(), user.distanceKm()));
+            } catch (Exception e) {
+                log.error("Error notificando al usuario " + user.userId(), e);
+            }
+        });
+    }
+
+    private record PendingNotification(Report report, String authorId, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,212 @@
+package co.edu.uniquindio.services.implementations;
+
+import co.edu.uniquindio.dto.NotificationBatch;
+import co.edu.uniquindio.dto.NotificationItem;
+import co.edu.uniquindio.model.Notification;
+import co.edu.uniquindio.services.interfaces.NotificationAggregator;
+import co.edu.uniquindio.services.interfaces.NotificationInboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa las notificaciones de cada usuario en un solo frame STOMP:
+ * - La primera notificación abre una ventana de window-ms; al cerrarse se envía todo lo acumulado
+ *   (ninguna notificación espera más que la ventana)
+ * - Si el lote llega a max-batch se envía de inmediato
+ * - El candado de cada usuario solo protege su lista de pendientes: los lotes se sacan bajo el candado
+ *   y se envían fuera de él, así un envío bloqueado (relay lento) no retiene el candado ni fija el hilo
+ *   virtual a su carrier. Un solo hilo envía a la vez por usuario (sending), así los frames salen en orden
+ * - Cada lote reserva sus secuencias en el contador persistido del usuario (NotificationInboxService),
+ *   compartido por todos los nodos y que no vuelve a empezar tras un reinicio; si no está disponible
+ *   el frame sale con secuencia 0 y no queda en el buzón
+ * - Cada lote se encola para el buzón del usuario antes de enviarse, para reenviarlo si estaba desconectado
+ *   (la escritura en MongoDB la hace el buzón en segundo plano, fuera del candado)
+ */
+@Service
+@Slf4j
+public class NotificationAggregatorImpl implements NotificationAggregator {
+
+    private static final String DESTINATION = "/queue/notifications";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationInboxService inboxService;
+    private final long windowMs;
+    private final int maxBatch;
+    private final Map<String, UserBuffer> buffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("notification-flush-"));
+
+    private final Counter notificationsCounter;
+    private final Counter framesCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    public NotificationAggregatorImpl(SimpMessagingTemplate messagingTemplate,
+                                      NotificationInboxService inboxService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${resqnet.notifications.batch.window-ms:500}") long windowMs,
+                                      @Value("${resqnet.notifications.batch.max-size:50}") int maxBatch) {
+        this.messagingTemplate = messagingTemplate;
+        this.inboxService = inboxService;
+        this.windowMs = windowMs;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.notificationsCounter = Counter.builder("notifications.sent").register(meterRegistry);
+        this.framesCounter = Counter.builder("notifications.frames").register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("notifications.batch.size")
+                .description("Notificaciones por frame enviado")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        // Enviar lo que quedó pendiente antes de cerrar
+        buffers.forEach(this::flush);
+    }
+
+    @Override
+    public void send(String userId, String type, Object payload) {
+        notificationsCounter.increment();
+
+        while (true) {
+            UserBuffer buffer = buffers.computeIfAbsent(userId, id -> new UserBuffer());
+            boolean sendNow;
+            synchronized (buffer) {
+                // El buffer se retiró del mapa mientras se obtenía: se usa uno nuevo
+                if (buffer.retired) {
+                    continue;
+                }
+                // La secuencia se asigna al enviar el lote (sendBatch)
+                NotificationItem item = new NotificationItem(new ObjectId().toHexString(), 0,
+                        type, payload, LocalDateTime.now().toString());
+                buffer.pending.add(item);
+                sendNow = windowMs <= 0 || buffer.pending.size() >= maxBatch;
+                if (!sendNow && !buffer.scheduled) {
+                    buffer.scheduled = true;
+                    scheduler.schedule(() -> flush(userId, buffer), windowMs, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (sendNow) {
+                drain(userId, buffer);
+            }
+            return;
+        }
+    }
+
+    @Override
+    public int getPendingUsers() {
+        return buffers.size();
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void flush(String userId, UserBuffer buffer) {
+        synchronized (buffer) {
+            buffer.scheduled = false;
+        }
+        drain(userId, buffer);
+    }
+
+    // Envía los lotes pendientes en orden; si otro hilo ya está enviando, ese recoge también lo nuevo
+    private void drain(String userId, UserBuffer buffer) {
+        synchronized (buffer) {
+            if (buffer.sending) {
+                return;
+            }
+            buffer.sending = true;
+        }
+        while (true) {
+            List<NotificationItem> batch;
+            synchronized (buffer) {
+                if (buffer.pending.isEmpty()) {
+                    buffer.sending = false;
+                    // Sin pendientes ni ventana abierta se retira del mapa para no conservar usuarios inactivos
+                    if (!buffer.scheduled) {
+                        buffer.retired = true;
+                        buffers.remove(userId, buffer);
+                    }
+                    return;
+                }
+                List<NotificationItem> head = buffer.pending.subList(0, Math.min(maxBatch, buffer.pending.size()));
+                batch = new ArrayList<>(head);
+                head.clear();
+            }
+            sendBatch(userId, batch);
+        }
+    }
+
+    // Fuera del candado: reserva secuencias, encola en el buzón y envía el frame
+    private void sendBatch(String userId, List<NotificationItem> pending) {
+        List<NotificationItem> items = numbered(userId, pending);
+        if (items.get(0).sequence() > 0) {
+            store(userId, items);
+        }
+        try {
+            messagingTemplate.convertAndSendToUser(userId, DESTINATION, new NotificationBatch(items));
+            framesCounter.increment();
+            batchSizeSummary.record(items.size());
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron enviar {} notificaciones al usuario {}: {}", items.size(), userId, e.getMessage());
+        }
+    }
+
+    // Secuencias consecutivas del contador del usuario, en el orden del lote
+    private List<NotificationItem> numbered(String userId, List<NotificationItem> pending) {
+        long first;
+        try {
+            first = inboxService.reserveSequences(userId, pending.size());
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron reservar secuencias para {} notificaciones del usuario {}: {}", pending.size(), userId, e.getMessage());
+            return new ArrayList<>(pending);
+        }
+        List<NotificationItem> items = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            NotificationItem item = pending.get(i);
+            items.add(new NotificationItem(item.id(), first + i, item.type(), item.payload(), item.timestamp()));
+        }
+        return items;
+    }
+
+    // Solo encola: si el buzón falla la notificación igual se envía a las sesiones conectadas
+    private void store(String userId, List<NotificationItem> items) {
+        List<Notification> notifications = items.stream()
+                .map(item -> Notification.builder()
+                        .id(item.id())
+                        .userId(userId)
+                        .sequence(item.sequence())
+                        .type(item.type())
+                        .payload(item.payload())
+                        .read(false)
+                        .createdAt(LocalDateTime.parse(item.timestamp()))
+                        .build())
+                .toList();
+        try {
+            inboxService.storeAsync(notifications);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron guardar {} notificaciones del usuario {} en el buzón: {}", items.size(), userId, e.getMessage());
+        }
+    }
+
+    private static final class UserBuffer {
+        private final List<NotificationItem> pending = new ArrayList<>();
+        private boolean scheduled;
+        private boolean sending;
+        private boolean retired;
+    }
+}
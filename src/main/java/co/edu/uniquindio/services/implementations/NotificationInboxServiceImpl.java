@@ -0,0 +1,225 @@
+package co.edu.uniquindio.services.implementations;
+
+import co.edu.uniquindio.dto.NotificationResponse;
+import co.edu.uniquindio.exceptions.BusinessException;
+import co.edu.uniquindio.model.Notification;
+import co.edu.uniquindio.model.NotificationSequence;
+import co.edu.uniquindio.services.interfaces.NotificationInboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buzón persistente de notificaciones por usuario
+ * - storeAsync solo encola: un hilo propio (notification-inbox-) guarda cada flush-ms todo lo encolado
+ *   en una sola inserción, aunque sea de varios usuarios, sin frenar el envío de los frames
+ * - Limitado a max-per-user: cada trim-ms se eliminan las más antiguas de los buzones que recibieron notificaciones
+ * - Si la cola se llena las notificaciones se siguen enviando por WebSocket, pero no quedan en el buzón
+ * - El cursor es la secuencia por usuario de notification_sequences ($inc atómico), no el ObjectId:
+ *   los ObjectId de nodos distintos en el mismo segundo no se ordenan por tiempo
+ * - findSince guarda antes lo encolado en este nodo, para no omitir lo enviado en los últimos flush-ms;
+ *   lo encolado en otro nodo puede tardar hasta flush-ms en aparecer (el cliente sigue con el mismo cursor)
+ * - Las consultas usan los índices {userId, sequence} y {userId, read}
+ */
+@Service
+@Slf4j
+public class NotificationInboxServiceImpl implements NotificationInboxService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_INSERT_BATCH = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxPerUser;
+    private final long flushMs;
+    private final long trimMs;
+
+    private final BlockingQueue<Notification> pending;
+    // Un flush a la vez: findSince espera el que esté en curso para ver lo que este ya sacó de la cola
+    private final Object flushLock = new Object();
+    // Usuarios con notificaciones nuevas desde el último recorte
+    private final Set<String> usersToTrim = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService writer =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("notification-inbox-"));
+
+    public NotificationInboxServiceImpl(MongoTemplate mongoTemplate,
+                                        ObjectMapper objectMapper,
+                                        @Value("${resqnet.notifications.inbox.max-per-user:200}") int maxPerUser,
+                                        @Value("${resqnet.notifications.inbox.queue-capacity:10000}") int queueCapacity,
+                                        @Value("${resqnet.notifications.inbox.flush-ms:200}") long flushMs,
+                                        @Value("${resqnet.notifications.inbox.trim-ms:30000}") long trimMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.maxPerUser = maxPerUser;
+        this.pending = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.flushMs = flushMs;
+        this.trimMs = trimMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.scheduleWithFixedDelay(this::flushQuietly, flushMs, flushMs, TimeUnit.MILLISECONDS);
+        writer.scheduleWithFixedDelay(this::trimQuietly, trimMs, trimMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        // Lo que quedó en cola (p. ej. los últimos lotes del agregador al cerrar)
+        flushQuietly();
+    }
+
+    @Override
+    public void storeAsync(List<Notification> notifications) {
+        int dropped = 0;
+        for (Notification notification : notifications) {
+            if (!pending.offer(notification)) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            log.warn("Cola del buzón llena: {} notificaciones no se guardarán", dropped);
+        }
+    }
+
+    @Override
+    public long reserveSequences(String userId, int count) {
+        NotificationSequence counter = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(userId)),
+                new Update().inc("value", count),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                NotificationSequence.class);
+        return counter.getValue() - count + 1;
+    }
+
+    // Guarda de inmediato lo encolado (en inserciones de hasta MAX_INSERT_BATCH); los buzones afectados se recortan después
+    public void flush() {
+        synchronized (flushLock) {
+            List<Notification> batch = new ArrayList<>();
+            while (pending.drainTo(batch, MAX_INSERT_BATCH) > 0) {
+                // El payload se guarda como JSON simple (mapas, listas y valores), no como la clase original
+                batch.forEach(notification -> notification.setPayload(objectMapper.convertValue(notification.getPayload(), Object.class)));
+                mongoTemplate.insertAll(batch);
+                batch.forEach(notification -> usersToTrim.add(notification.getUserId()));
+                log.debug("Buzón: {} notificaciones guardadas en una inserción", batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    public void trimPending() {
+        for (String userId : usersToTrim) {
+            usersToTrim.remove(userId);
+            trim(userId);
+        }
+    }
+
+    @Override
+    public List<NotificationResponse> findSince(String userId, String sinceSequence, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Criteria criteria = Criteria.where("userId").is(userId);
+        Long since = sinceSequence == null || sinceSequence.isBlank() ? null : toSequence(sinceSequence);
+        // Lo enviado hace menos de flush-ms todavía puede estar en la cola de este nodo
+        flushQuietly();
+
+        List<Notification> notifications;
+        if (since != null) {
+            criteria.and("sequence").gt(since);
+            notifications = mongoTemplate.find(new Query(criteria).with(Sort.by(Sort.Direction.ASC, "sequence")).limit(pageSize), Notification.class);
+        } else {
+            notifications = new ArrayList<>(mongoTemplate.find(new Query(criteria).with(Sort.by(Sort.Direction.DESC, "sequence")).limit(pageSize), Notification.class));
+            Collections.reverse(notifications);
+        }
+        return notifications.stream().map(NotificationResponse::fromNotification).toList();
+    }
+
+    @Override
+    public long countUnread(String userId) {
+        return mongoTemplate.count(new Query(Criteria.where("userId").is(userId).and("read").is(false)), Notification.class);
+    }
+
+    @Override
+    public long markRead(String userId, List<String> notificationIds) {
+        List<ObjectId> ids = notificationIds.stream().map(this::toObjectId).toList();
+        Query query = new Query(Criteria.where("userId").is(userId).and("_id").in(ids).and("read").is(false));
+        return mongoTemplate.updateMulti(query, new Update().set("read", true), Notification.class).getModifiedCount();
+    }
+
+    @Override
+    public long markAllRead(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("read").is(false));
+        return mongoTemplate.updateMulti(query, new Update().set("read", true), Notification.class).getModifiedCount();
+    }
+
+    // --- Métodos auxiliares ---
+
+    // Un error no debe cancelar la tarea periódica; lo no guardado se pierde (el WebSocket ya lo entregó)
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron guardar notificaciones en el buzón: {}", e.getMessage());
+        }
+    }
+
+    private void trimQuietly() {
+        try {
+            trimPending();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron recortar los buzones de notificaciones: {}", e.getMessage());
+        }
+    }
+
+    // Busca la notificación número maxPerUser (de la más reciente a la más antigua) y borra desde ella hacia atrás
+    private void trim(String userId) {
+        Query oldestKept = new Query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "sequence"))
+                .skip(maxPerUser)
+                .limit(1);
+        oldestKept.fields().include("sequence");
+        Notification firstToDelete = mongoTemplate.findOne(oldestKept, Notification.class);
+        if (firstToDelete != null) {
+            Query delete = new Query(Criteria.where("userId").is(userId).and("sequence").lte(firstToDelete.getSequence()));
+            long deleted = mongoTemplate.remove(delete, Notification.class).getDeletedCount();
+            log.debug("Buzón del usuario {} recortado: {} notificaciones antiguas eliminadas", userId, deleted);
+        }
+    }
+
+    private long toSequence(String sequence) {
+        try {
+            return Long.parseLong(sequence);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("INVALID_CURSOR", "Secuencia de notificación inválida: " + sequence);
+        }
+    }
+
+    private ObjectId toObjectId(String id) {
+        if (!ObjectId.isValid(id)) {
+            throw new BusinessException("INVALID_CURSOR", "Identificador de notificación inválido: " + id);
+        }
+        return new ObjectId(id);
+    }
+}
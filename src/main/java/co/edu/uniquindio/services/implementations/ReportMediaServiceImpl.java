@@ -0,0 +1,193 @@
+package co.edu.uniquindio.services.implementations;
+
+import co.edu.uniquindio.cache.ReportResponseCache;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.enums.MediaStatus;
+import co.edu.uniquindio.repositories.ReportRepository;
+import co.edu.uniquindio.services.interfaces.CloudinaryService;
+import co.edu.uniquindio.services.interfaces.NotificationAggregator;
+import co.edu.uniquindio.services.interfaces.ReportMediaService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Subida diferida de imágenes de reportes:
+ * 1. Las imágenes se copian a una carpeta local (spool) durante la petición
+ * 2. El reporte se guarda con mediaStatus = PENDING_MEDIA y se responde de inmediato
+ * 3. Un worker sube las imágenes, actualiza imageUrls y avisa al autor por WebSocket
+ * Las carpetas que quedan en el spool (p. ej. tras un reinicio) se retoman al iniciar
+ * Si el reporte se eliminó mientras se subían, las imágenes subidas se eliminan de Cloudinary
+ */
+@Service
+@Slf4j
+public class ReportMediaServiceImpl implements ReportMediaService {
+
+    private static final String STAGING_PREFIX = "staging-";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final CloudinaryService cloudinaryService;
+    private final ReportRepository reportRepository;
+    private final ReportResponseCache reportResponseCache;
+    private final NotificationAggregator notificationAggregator;
+    private final Path spoolRoot;
+    private final long retryBackoffMs;
+    private final ExecutorService workers;
+
+    public ReportMediaServiceImpl(CloudinaryService cloudinaryService,
+                                  ReportRepository reportRepository,
+                                  ReportResponseCache reportResponseCache,
+                                  NotificationAggregator notificationAggregator,
+                                  @Value("${resqnet.images.spool-dir:${java.io.tmpdir}/resqnet-spool}") String spoolDir,
+                                  @Value("${resqnet.images.deferred-workers:2}") int workerCount,
+                                  @Value("${resqnet.images.deferred-retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.cloudinaryService = cloudinaryService;
+        this.reportRepository = reportRepository;
+        this.reportResponseCache = reportResponseCache;
+        this.notificationAggregator = notificationAggregator;
+        this.spoolRoot = Paths.get(spoolDir);
+        this.retryBackoffMs = retryBackoffMs;
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("report-media-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public Path spool(List<MultipartFile> images) {
+        Path staging = spoolRoot.resolve(STAGING_PREFIX + UUID.randomUUID());
+        try {
+            Files.createDirectories(staging);
+            for (int i = 0; i < images.size(); i++) {
+                // El prefijo numérico conserva el orden original de las imágenes
+                images.get(i).transferTo(staging.resolve(String.format("%03d.img", i)));
+            }
+            return staging;
+        } catch (IOException e) {
+            deleteQuietly(staging);
+            log.error("Error guardando imágenes en {}: {}", staging, e.getMessage());
+            throw new RuntimeException("Error al procesar las imágenes", e);
+        }
+    }
+
+    @Override
+    public void schedule(Path spoolDir, Report report) {
+        Path reportDir = spoolRoot.resolve(report.getId());
+        try {
+            Files.move(spoolDir, reportDir);
+        } catch (IOException e) {
+            log.error("No se pudo preparar la subida diferida del reporte {}", report.getId(), e);
+            deleteQuietly(spoolDir);
+            updateMedia(report.getId(), null, MediaStatus.FAILED);
+            return;
+        }
+        workers.submit(() -> process(report.getId(), report.getIdUser(), reportDir));
+    }
+
+    // Retoma las subidas que quedaron pendientes antes de un reinicio
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        if (!Files.isDirectory(spoolRoot)) {
+            return;
+        }
+        try (Stream<Path> dirs = Files.list(spoolRoot)) {
+            dirs.filter(Files::isDirectory).forEach(dir -> {
+                String name = dir.getFileName().toString();
+                if (name.startsWith(STAGING_PREFIX)) {
+                    // El reporte nunca se creó: se descartan las imágenes
+                    deleteQuietly(dir);
+                    return;
+                }
+                reportRepository.findById(name).ifPresentOrElse(
+                        report -> workers.submit(() -> process(report.getId(), report.getIdUser(), dir)),
+                        () -> deleteQuietly(dir));
+            });
+        } catch (IOException e) {
+            log.error("Error revisando imágenes pendientes en {}", spoolRoot, e);
+        }
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void process(String reportId, String userId, Path reportDir) {
+        try (Stream<Path> files = Files.list(reportDir)) {
+            List<Path> images = files.sorted(Comparator.comparing(Path::toString)).toList();
+
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                try {
+                    List<String> imageUrls = cloudinaryService.uploadFiles(images);
+                    if (!updateMedia(reportId, imageUrls, MediaStatus.READY)) {
+                        // El reporte se eliminó durante la subida: no deben quedar imágenes huérfanas
+                        log.info("El reporte {} se eliminó durante la subida, se eliminan sus {} imágenes", reportId, imageUrls.size());
+                        cloudinaryService.deleteImages(imageUrls);
+                        deleteQuietly(reportDir);
+                        return;
+                    }
+                    notifyAuthor(userId, reportId, MediaStatus.READY, imageUrls);
+                    log.info("Imágenes del reporte {} subidas en segundo plano ({})", reportId, imageUrls.size());
+                    deleteQuietly(reportDir);
+                    return;
+                } catch (RuntimeException e) {
+                    log.warn("Intento {} de subir las imágenes del reporte {} falló: {}", attempt, reportId, e.getMessage());
+                    if (attempt < MAX_ATTEMPTS) {
+                        Thread.sleep(retryBackoffMs * attempt);
+                    }
+                }
+            }
+
+            updateMedia(reportId, null, MediaStatus.FAILED);
+            notifyAuthor(userId, reportId, MediaStatus.FAILED, List.of());
+        } catch (InterruptedException e) {
+            // Se conserva el spool para retomarlo en el próximo inicio
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            log.error("Error procesando las imágenes del reporte {}", reportId, e);
+            updateMedia(reportId, null, MediaStatus.FAILED);
+        }
+        deleteQuietly(reportDir);
+    }
+
+    private boolean updateMedia(String reportId, List<String> imageUrls, MediaStatus status) {
+        boolean updated = reportRepository.updateMedia(reportId, imageUrls, status);
+        reportResponseCache.invalidate(reportId);
+        return updated;
+    }
+
+    private void notifyAuthor(String userId, String reportId, MediaStatus status, List<String> imageUrls) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("reportId", reportId);
+        message.put("mediaStatus", status.name());
+        message.put("imageUrls", imageUrls);
+        notificationAggregator.send(userId, NotificationAggregator.REPORT_MEDIA, message);
+    }
+
+    private void deleteQuietly(Path dir) {
+        try {
+            FileSystemUtils.deleteRecursively(dir);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar la carpeta {}", dir);
+        }
+    }
+}
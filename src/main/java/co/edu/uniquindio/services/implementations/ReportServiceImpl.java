@@ -1,22 +1,35 @@
 package co.edu.uniquindio.services.implementations;
 
+import co.edu.uniquindio.cache.CategoryRegistry;
+import co.edu.uniquindio.cache.ReportResponseCache;
+import co.edu.uniquindio.dto.ReportCursor;
 import co.edu.uniquindio.dto.ReportFilterRequest;
+import co.edu.uniquindio.dto.ReportPageResponse;
 import co.edu.uniquindio.dto.ReportRequest;
 import co.edu.uniquindio.dto.ReportResponse;
-import co.edu.uniquindio.events.NewReportEvent;
+import co.edu.uniquindio.events.ReportStatusChangedEvent;
 import co.edu.uniquindio.exceptions.BusinessException;
 import co.edu.uniquindio.exceptions.ForbiddenActionException;
 import co.edu.uniquindio.exceptions.ResourceNotFoundException;
+import co.edu.uniquindio.exceptions.ValueConflictException;
 import co.edu.uniquindio.mappers.ReportMapper;
 import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.ReportLike;
 import co.edu.uniquindio.model.User;
+import co.edu.uniquindio.model.enums.MediaStatus;
 import co.edu.uniquindio.model.enums.ReportStatus;
 import co.edu.uniquindio.model.enums.Role;
-import co.edu.uniquindio.repositories.CategoryRepository;
+import co.edu.uniquindio.repositories.ReportLikeRepository;
 import co.edu.uniquindio.repositories.ReportRepository;
 import co.edu.uniquindio.repositories.UserRepository;
 import co.edu.uniquindio.services.interfaces.CloudinaryService;
+import co.edu.uniquindio.services.interfaces.NearbyNotificationService;
+import co.edu.uniquindio.services.interfaces.NotificationAggregator;
+import co.edu.uniquindio.services.interfaces.ReportMediaService;
 import co.edu.uniquindio.services.interfaces.ReportService;
+import co.edu.uniquindio.utils.GeoUtils;
+import co.edu.uniquindio.utils.ReportJsonCodec;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.element.Paragraph;
@@ -24,58 +37,77 @@ import jakarta.mail.MessagingException;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import com.itextpdf.layout.Document;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
 
+    // Tamaño de lote del cursor y frecuencia de envío al cliente en la exportación a PDF
+    private static final int PDF_BATCH_SIZE = 500;
+
+    // Tamaño de lote del cursor (y de cada flush) al exportar reportes en JSON por streaming
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    // Reintentos de toggleReportImportance cuando hay "toggles" simultáneos del mismo usuario
+    private static final int MAX_TOGGLE_ATTEMPTS = 3;
+
+    // Tamaño máximo de página en los listados por cursor
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ReportRepository reportRepository;
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
+    private final ReportLikeRepository reportLikeRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final ReportResponseCache reportResponseCache;
     private final CloudinaryService cloudinaryService;
-    private final ApplicationEventPublisher eventPublisher;
+    private final NearbyNotificationService nearbyNotificationService;
     private final ReportMapper reportMapper;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ReportJsonCodec reportJsonCodec;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationAggregator notificationAggregator;
     private final EmailServiceImpl emailService;
+    private final ReportMediaService reportMediaService;
+
+    // Si está activo, createReport no espera a Cloudinary (las imágenes se suben en segundo plano)
+    @Value("${resqnet.images.deferred-upload:false}")
+    private boolean deferredImageUpload;
 
     @Override
     public ReportResponse createReport(ReportRequest request, String userId) {
         // 1. Validar usuario
-        User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Usuario no encontrado");
+        }
 
         // 2. Validar categorías
-        List<String> invalidCategories = new ArrayList<>();
-        if (request.categories() != null) {
-            request.categories().forEach(categoryId -> {
-                boolean exists = categoryRepository.existsById(categoryId); // Verifica existencia sin cargar el objeto
-                if (!exists) {
-                    invalidCategories.add(categoryId); // Agrega categorías inexistentes a la lista
-                }
-            });
-
-            // Si hay categorías inválidas, lanza una excepción con los detalles
-            if (!invalidCategories.isEmpty()) {
-                throw new ResourceNotFoundException("Categorías no encontradas: " + String.join(", ", invalidCategories));
-            }
-        }
+        validateCategories(request.categories());
 
-        // 3. Subir imágenes a Cloudinary (si existen)
+        // 3. Subir imágenes a Cloudinary (si existen), o guardarlas en disco para subirlas en segundo plano
+        boolean hasImages = request.images() != null && !request.images().isEmpty();
+        boolean deferImages = hasImages && deferredImageUpload;
         List<String> imageUrls = null;
-        if (request.images() != null && !request.images().isEmpty()) {
+        Path spooledImages = null;
+        if (deferImages) {
+            spooledImages = reportMediaService.spool(request.images());
+        } else if (hasImages) {
             imageUrls = cloudinaryService.uploadImages(request.images());
         }
 
@@ -83,20 +115,17 @@ public class ReportServiceImpl implements ReportService {
         GeoJsonPoint geoPoint = new GeoJsonPoint(request.location().longitude(), request.location().latitude());
 
         // 5. Crear y guardar el reporte
-        Report report = Report.builder().title(request.title()).description(request.description()).location(geoPoint).categories(request.categories()).idUser(userId).status(ReportStatus.PENDING).date(LocalDateTime.now()).ratingsImportant(0).imageUrls(imageUrls).build();
+        Report report = Report.builder().title(request.title()).description(request.description()).location(geoPoint).categories(request.categories()).idUser(userId).status(ReportStatus.PENDING).date(LocalDateTime.now()).ratingsImportant(0).imageUrls(imageUrls).mediaStatus(deferImages ? MediaStatus.PENDING_MEDIA : MediaStatus.READY).build();
 
 
         Report savedReport = reportRepository.save(report);
 
-        // 6. Asociar el reporte al usuario
-        if (user.getReports() == null) {
-            user.setReports(new ArrayList<>());
+        if (deferImages) {
+            reportMediaService.schedule(spooledImages, savedReport);
         }
-        user.getReports().add(savedReport.getId());
-        userRepository.save(user); // guardar el usuario actualizado
 
-        // Notificar a usuarios cercanos
-        notifyNearbyUsers(savedReport, userId);
+        // Notificar a usuarios cercanos (en segundo plano, no retrasa la respuesta)
+        nearbyNotificationService.enqueue(savedReport, userId);
 
         // 7. Convertir a DTO y retornar
         return convertToResponse(savedReport, "Reporte creado exitosamente.");
@@ -123,27 +152,21 @@ public class ReportServiceImpl implements ReportService {
         }
 
         // 3. Validar categorías
-        if (request.categories() != null) {
-            List<String> invalidCategories = request.categories().stream().filter(categoryId -> !categoryRepository.existsById(categoryId)).toList();
-
-            if (!invalidCategories.isEmpty()) {
-                throw new ResourceNotFoundException("Categorías no encontradas: " + String.join(", ", invalidCategories));
-            }
-        }
+        validateCategories(request.categories());
 
-        // 4. Procesar imágenes
-        List<String> imageUrls = request.images() != null && !request.images().isEmpty() ? cloudinaryService.uploadImages(request.images()) : report.getImageUrls();
+        // 4. Actualizar solo los campos editados ($set): no pisa los "me gusta" ni las imágenes
+        // que se escriban en paralelo (p. ej. durante la subida a Cloudinary)
+        Update update = editUpdate(request);
 
-        // 5. Actualizar el reporte
-        report.setTitle(request.title());
-        report.setDescription(request.description());
-        report.setLocation(new GeoJsonPoint(request.location().longitude(), request.location().latitude()));
-        report.setCategories(request.categories());
-        report.setImageUrls(imageUrls);
-        report.setDate(LocalDateTime.now());
+        // 5. Procesar imágenes (solo se reemplazan si se enviaron nuevas)
+        if (request.images() != null && !request.images().isEmpty()) {
+            update.set("imageUrls", cloudinaryService.uploadImages(request.images()));
+        }
 
-        // 6. Guardar y retornar
-        return reportMapper.toResponse(reportRepository.save(report));
+        // 6. Guardar (si sigue pendiente) y retornar
+        Report savedReport = applyUpdate(reportId, ReportStatus.PENDING, update);
+        reportResponseCache.invalidate(reportId);
+        return reportMapper.toResponse(savedReport);
 
     }
 
@@ -164,40 +187,51 @@ public class ReportServiceImpl implements ReportService {
             throw new ForbiddenActionException("Solo se pueden eliminar reportes en estado pendiente");
         }
 
-        // 4. Eliminar el reporte
-        reportRepository.deleteById(reportId);
-        user.getReports().remove(reportId);
-        userRepository.save(user);
+        // 4. Eliminar el reporte, sus marcas de importancia y sus imágenes
+        // Las URLs se toman del documento eliminado (no de la lectura inicial) por si la subida diferida terminó entretanto;
+        // si aún se están subiendo, ReportMediaServiceImpl las elimina al terminar
+        Report removed = reportRepository.removeById(reportId);
+        reportLikeRepository.deleteByReportId(reportId);
+        reportResponseCache.invalidate(reportId);
+        if (removed != null) {
+            cloudinaryService.deleteImages(removed.getImageUrls());
+        }
         log.info("El usuario {} eliminó el reporte {}", userId, reportId);
 
     }
 
     @Override
     public void toggleReportImportance(String reportId, String userId) {
-        // 1. Obtener reporte y usuario
-        Report report = reportRepository.findById(reportId).orElseThrow(() -> new ResourceNotFoundException("Reporte no encontrado"));
-        User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
-
-        boolean isLiked = user.getLikedReports().contains(reportId);
+        // 1. Validar usuario
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Usuario no encontrado");
+        }
 
-        if (isLiked) {
-            // Quitar "me gusta"
-            user.getLikedReports().remove(reportId);
-            report.getLikedBy().remove(userId);
-            if (report.getRatingsImportant() > 0) {
-                report.setRatingsImportant(report.getRatingsImportant() - 1);
+        // 2. Alternar sobre report_likes: el índice único (reportId, userId) evita marcas duplicadas.
+        // Si otro "toggle" del mismo usuario gana la carrera, la inserción falla y se reintenta.
+        for (int attempt = 0; attempt < MAX_TOGGLE_ATTEMPTS; attempt++) {
+            if (reportLikeRepository.deleteByReportIdAndUserId(reportId, userId) > 0) {
+                // Quitar "me gusta"
+                reportRepository.incrementLikes(reportId, -1);
+                reportResponseCache.invalidate(reportId);
+                log.info("Usuario {} quitó 'importancia' del reporte {}", userId, reportId);
+                return;
+            }
+            if (!reportRepository.existsById(reportId)) {
+                throw new ResourceNotFoundException("Reporte no encontrado");
+            }
+            try {
+                // Agregar "me gusta"
+                reportLikeRepository.insert(ReportLike.builder().reportId(reportId).userId(userId).date(LocalDateTime.now()).build());
+                reportRepository.incrementLikes(reportId, 1);
+                reportResponseCache.invalidate(reportId);
+                log.info("Usuario {} marcó como importante el reporte {}", userId, reportId);
+                return;
+            } catch (DuplicateKeyException e) {
+                log.debug("Toggle concurrente del reporte {} por el usuario {}, reintentando", reportId, userId);
             }
-            log.info("Usuario {} quitó 'importancia' del reporte {}", userId, reportId);
-        } else {
-            // Agregar "me gusta"
-            user.getLikedReports().add(reportId);
-            report.getLikedBy().add(userId);
-            report.setRatingsImportant(report.getRatingsImportant() + 1);
-            log.info("Usuario {} marcó como importante el reporte {}", userId, reportId);
         }
-
-        userRepository.save(user);
-        reportRepository.save(report);
+        log.warn("No se pudo alternar la importancia del reporte {} para el usuario {} por concurrencia", reportId, userId);
     }
 
 
@@ -216,15 +250,16 @@ public class ReportServiceImpl implements ReportService {
         // 3. Validar requisitos específicos por estado
         validateStateRequirements(report, status, rejectionReason, user);
 
-        // Registrar cambios
+        // Registrar cambios (solo si nadie cambió el estado desde la lectura)
         String oldStatus = report.getStatus().name();
-        report.setStatus(status);
-        setStatusSpecificData(report, status, rejectionReason, user);
+        Update update = new Update().set("status", status);
+        setStatusSpecificData(update, status, rejectionReason, user);
 
-        Report updatedReport = reportRepository.save(report);
+        Report updatedReport = applyUpdate(reportId, report.getStatus(), update);
+        reportResponseCache.invalidate(reportId);
 
-        // Notificar cambio de estado
-        notifyStatusChange(reportId, oldStatus, status.name(), user.getRole());
+        // Notificar cambio de estado (solo al dueño y a los suscriptores del reporte)
+        publishStatusChange(updatedReport, oldStatus);
 
         return convertToResponse(updatedReport, "Estado del reporte actualizado exitosamente");
     }
@@ -252,12 +287,13 @@ public class ReportServiceImpl implements ReportService {
         }
 
         // Actualizar el reporte
-        report.setStatus(ReportStatus.REJECTED);
-        report.setRejectionReason(rejectionReason);
-        report.setRejectionDate(LocalDateTime.now());
-        report.setResubmissionDeadline(LocalDateTime.now().plusDays(5));
+        String oldStatus = report.getStatus().name();
+        Update update = new Update().set("status", ReportStatus.REJECTED);
+        setStatusSpecificData(update, ReportStatus.REJECTED, rejectionReason, admin);
 
-        Report updatedReport = reportRepository.save(report);
+        Report updatedReport = applyUpdate(reportId, report.getStatus(), update);
+        reportResponseCache.invalidate(reportId);
+        publishStatusChange(updatedReport, oldStatus);
 
         // Obtener al usuario del reporte
         User user = userRepository.findById(report.getIdUser()).orElseThrow(() -> new ResourceNotFoundException("Usuario del reporte no encontrado"));
@@ -317,30 +353,22 @@ public class ReportServiceImpl implements ReportService {
         }
 
         // Validar categorías
-        if (request.categories() != null) {
-            List<String> invalidCategories = request.categories().stream().filter(categoryId -> !categoryRepository.existsById(categoryId)).toList();
+        validateCategories(request.categories());
 
-            if (!invalidCategories.isEmpty()) {
-                throw new ResourceNotFoundException("Categorías no encontradas: " + String.join(", ", invalidCategories));
-            }
-        }
+        // Actualizar solo los campos editados y volver a estado pendiente
+        String oldStatus = originalReport.getStatus().name();
+        Update update = editUpdate(request).set("status", ReportStatus.PENDING).inc("resubmissionCount", 1);
 
-        // Subir imágenes si existen
-        List<String> imageUrls = request.images() != null && !request.images().isEmpty() ? cloudinaryService.uploadImages(request.images()) : originalReport.getImageUrls();
-
-        // Actualizar el reporte
-        originalReport.setTitle(request.title());
-        originalReport.setDescription(request.description());
-        originalReport.setLocation(new GeoJsonPoint(request.location().longitude(), request.location().latitude()));
-        originalReport.setCategories(request.categories());
-        originalReport.setImageUrls(imageUrls);
-        originalReport.setStatus(ReportStatus.PENDING); // Volver a estado pendiente
-        originalReport.setResubmissionCount(originalReport.getResubmissionCount() + 1);
-        originalReport.setDate(LocalDateTime.now());
+        // Subir imágenes si existen (si no, se conservan las actuales)
+        if (request.images() != null && !request.images().isEmpty()) {
+            update.set("imageUrls", cloudinaryService.uploadImages(request.images()));
+        }
 
-        Report savedReport = reportRepository.save(originalReport);
+        Report savedReport = applyUpdate(reportId, ReportStatus.REJECTED, update);
+        reportResponseCache.invalidate(reportId);
+        publishStatusChange(savedReport, oldStatus);
 
-        log.info("El usuario con ID {} ha reenviado el reporte con ID {}. Reenvíos totales: {}", userId, reportId, originalReport.getResubmissionCount());
+        log.info("El usuario con ID {} ha reenviado el reporte con ID {}. Reenvíos totales: {}", userId, reportId, savedReport.getResubmissionCount());
 
 
         return convertToResponse(savedReport, "Reporte reenviado correctamente. Esperando revisión.");
@@ -348,18 +376,11 @@ public class ReportServiceImpl implements ReportService {
     }
 
     @Override
-    public List<ReportResponse> getReportsWithFilters(ReportFilterRequest filter, String adminId) {
+    public List<ReportResponse> getReportsWithFilters(ReportFilterRequest filter, Pageable pageable, String adminId) {
         validateAdmin(adminId);
 
-        List<Report> filteredReports = reportRepository.findAll().stream().filter(report -> filter.categories() == null || !filter.categories().isEmpty() && report.getCategories().stream().anyMatch(filter.categories()::contains)).filter(report -> filter.status() == null || report.getStatus().name().equalsIgnoreCase(filter.status())).filter(report -> {
-            if (filter.startDate() == null && filter.endDate() == null) return true;
-            LocalDate date = report.getDate().toLocalDate();
-            return (filter.startDate() == null || !date.isBefore(filter.startDate())) && (filter.endDate() == null || !date.isAfter(filter.endDate()));
-        }).filter(report -> {
-            if (filter.latitude() == null || filter.longitude() == null || filter.radiusKm() == null) return true;
-            double distance = calculateDistance(report.getLocation().getY(), report.getLocation().getX(), filter.latitude(), filter.longitude());
-            return distance <= filter.radiusKm();
-        }).toList();
+        // Los filtros (categorías, estado, fechas y radio) se resuelven en MongoDB, no en memoria
+        List<Report> filteredReports = reportRepository.findByFilters(filter, pageable);
 
         return filteredReports.stream().map(report -> convertToResponse(report, "Filtrado exitoso")).toList();
 
@@ -368,75 +389,89 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public List<ReportResponse> getReportsByUserId(String userId) {
         // 1. Verifica que el usuario exista
-        User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Usuario no encontrado");
+        }
 
-        // 2. Obtiene los reportes por sus IDs (asumiendo que User tiene una lista de IDs)
-        List<Report> reports = reportRepository.findAllById(user.getReports());
+        // 2. Obtiene los reportes del usuario (consulta por idUser sobre el índice idUser_date_id)
+        List<Report> reports = reportRepository.findByIdUser(userId);
 
         // 3. Convierte los reportes a respuestas
         return reports.stream().map(report -> convertToResponse(report, "Reporte del usuario")).toList();
     }
 
     @Override
-    public ReportResponse getReportById(String reportId) {
-        // Buscar el reporte por su ID
-        Report report = reportRepository.findById(reportId).orElseThrow(() -> new ResourceNotFoundException("Reporte no encontrado"));
-
-        // Convertir el reporte a su DTO correspondiente y retornar
-        return convertToResponse(report, "Reporte actualizado correctamente.");
+    public ReportPageResponse getReportsByUserIdPage(String userId, String cursor, int size) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Usuario no encontrado");
+        }
+        int pageSize = clampPageSize(size);
+        List<Report> reports = reportRepository.findUserPage(userId, ReportCursor.decode(cursor), pageSize + 1);
+        return toPage(reports, pageSize, "Reporte del usuario");
     }
 
-    // --- Métodos auxiliares ---
-    private ReportResponse convertToResponse(Report report, String message) {
-        return ReportResponse.builder().id(report.getId()).title(report.getTitle()).description(report.getDescription()).location(report.getLocation()).categories(report.getCategories()).status(report.getStatus() != null ? report.getStatus().name() : null).ratingsImportant(report.getRatingsImportant()).userId(report.getIdUser()).imageUrls(report.getImageUrls() != null ? report.getImageUrls() : List.of()).date(report.getDate() != null ? report.getDate().toString() : null).rejectionReason(report.getRejectionReason()).message(message).build();
-
+    @Override
+    public ReportPageResponse getReportsFeed(String status, List<String> categories, String cursor, int size) {
+        ReportStatus reportStatus = null;
+        if (status != null) {
+            try {
+                reportStatus = ReportStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("INVALID_STATUS", "Estado de reporte inválido: " + status);
+            }
+        }
+        int pageSize = clampPageSize(size);
+        List<Report> reports = reportRepository.findFeedPage(reportStatus, categories, ReportCursor.decode(cursor), pageSize + 1);
+        return toPage(reports, pageSize, "Listado de reportes");
     }
 
-    public double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Radio de la Tierra en km
-
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2) + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-
-        return R * c;
+    @Override
+    public ReportResponse getReportById(String reportId) {
+        // Buscar el reporte en caché o, si no está, en MongoDB y convertirlo a su DTO
+        return reportResponseCache.get(reportId, id -> {
+            Report report = reportRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Reporte no encontrado"));
+            return convertToResponse(report, "Reporte actualizado correctamente.");
+        });
     }
 
-    private void notifyNearbyUsers(Report report, String authorId) {
-        final double notificationRadiusKm = 10.0; // Radio configurable
-        final double maxDistanceInMeters = notificationRadiusKm * 1000;
+    // --- Métodos auxiliares ---
+    // Estático y de paquete para que el benchmark de conversión lo mida directamente (ReportServiceBenchmarkAccess)
+    static ReportResponse convertToResponse(Report report, String message) {
+        return ReportResponse.builder().id(report.getId()).title(report.getTitle()).description(report.getDescription()).location(report.getLocation()).categories(report.getCategories()).status(report.getStatus() != null ? report.getStatus().name() : null).ratingsImportant(report.getRatingsImportant()).userId(report.getIdUser()).imageUrls(report.getImageUrls() != null ? report.getImageUrls() : List.of()).mediaStatus(report.getMediaStatus() != null ? report.getMediaStatus().name() : null).date(report.getDate() != null ? report.getDate().toString() : null).rejectionReason(report.getRejectionReason()).message(message).build();
 
-        try {
-            // 1. Loggeo para diagnóstico
-            log.info("Buscando usuarios cerca de reporte ID: {} en ubicación: {},{}", report.getId(), report.getLocation().getX(), report.getLocation().getY());
+    }
 
-            // 2. Buscar usuarios cercanos (con manejo de null)
-            List<User> nearbyUsers = userRepository.findUsersNearLocation(report.getLocation().getX(), report.getLocation().getY(), maxDistanceInMeters, authorId);
+    // Se pide un elemento extra para saber si existe una página siguiente sin contar documentos
+    private ReportPageResponse toPage(List<Report> reports, int pageSize, String message) {
+        boolean hasMore = reports.size() > pageSize;
+        List<Report> page = hasMore ? reports.subList(0, pageSize) : reports;
 
-            if (nearbyUsers == null || nearbyUsers.isEmpty()) {
-                log.info("No se encontraron usuarios cercanos para notificar");
-                return;
-            }
+        String nextCursor = null;
+        if (hasMore) {
+            Report last = page.get(page.size() - 1);
+            nextCursor = new ReportCursor(last.getDate(), last.getId()).encode();
+        }
+        return new ReportPageResponse(page.stream().map(report -> convertToResponse(report, message)).toList(), nextCursor);
+    }
 
-            // 3. Procesar notificaciones
-            nearbyUsers.stream().filter(user -> user.getLocation() != null).forEach(user -> {
-                try {
-                    double distance = calculateDistance(report.getLocation().getY(), report.getLocation().getX(), user.getLocation().getY(), user.getLocation().getX());
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
 
-                    log.debug("Notificando al usuario {} ({} km)", user.getId(), distance);
+    public double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        return GeoUtils.distanceKm(lat1, lon1, lat2, lon2);
+    }
 
-                    eventPublisher.publishEvent(new NewReportEvent(this, report, user.getId(), distance));
-                } catch (Exception e) {
-                    log.error("Error notificando al usuario " + user.getId(), e);
-                }
-            });
+    // Verifica todas las categorías en memoria (sin una consulta por categoría)
+    private void validateCategories(List<String> categories) {
+        if (categories == null) {
+            return;
+        }
+        List<String> invalidCategories = categoryRegistry.findMissing(categories);
 
-        } catch (Exception e) {
-            log.error("Error en búsqueda de usuarios cercanos", e);
-            // Puedes agregar métricas o alertas aquí
+        // Si hay categorías inválidas, lanza una excepción con los detalles
+        if (!invalidCategories.isEmpty()) {
+            throw new ResourceNotFoundException("Categorías no encontradas: " + String.join(", ", invalidCategories));
         }
     }
 
@@ -451,60 +486,92 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public void generatePdfReport(String status, List<String> categories, LocalDate startDate, LocalDate endDate, Double lat, Double lng, Double radius, HttpServletResponse response) throws IOException {
 
-        List<Report> filteredReports = filterReports(status, categories, startDate, endDate, lat, lng, radius);
+        ReportFilterRequest filter = new ReportFilterRequest(categories, status, startDate, endDate, lat, lng, radius);
+        long total = reportRepository.countByFilters(filter);
 
         // Configurar el PDF
         response.setContentType("application/pdf");
         response.setHeader("Content-Disposition", "attachment; filename=reportes.pdf");
 
-        // Generar el PDF
-        try (PdfWriter writer = new PdfWriter(response.getOutputStream()); PdfDocument pdf = new PdfDocument(writer); Document document = new Document(pdf)) {
+        // Generar el PDF a medida que llegan los reportes del cursor (la memoria no depende del total)
+        try (PdfWriter writer = new PdfWriter(response.getOutputStream()); PdfDocument pdf = new PdfDocument(writer); Document document = new Document(pdf); Stream<Report> reports = reportRepository.streamByFilters(filter, PDF_BATCH_SIZE)) {
 
             document.add(new Paragraph("Reportes filtrados").setBold().setFontSize(20));
-            document.add(new Paragraph("Total: " + filteredReports.size()));
+            document.add(new Paragraph("Total: " + total));
 
-            for (Report report : filteredReports) {
+            Iterator<Report> iterator = reports.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Report report = iterator.next();
                 document.add(new Paragraph("\nTítulo: " + report.getTitle()).setBold());
                 document.add(new Paragraph("Descripción: " + report.getDescription()));
                 document.add(new Paragraph("Estado: " + report.getStatus()));
                 document.add(new Paragraph("Fecha: " + report.getDate()));
+
+                // Las páginas completas ya se liberaron (immediateFlush); se envían al cliente por lotes
+                if (++written % PDF_BATCH_SIZE == 0) {
+                    writer.flush();
+                }
             }
         }
     }
 
-    private List<Report> filterReports(String status, List<String> categories, LocalDate startDate, LocalDate endDate, Double lat, Double lng, Double radius) {
+    @Override
+    public void streamReportsJson(ReportFilterRequest filter, String adminId, boolean ndjson, HttpServletResponse response) throws IOException {
+        validateAdmin(adminId);
+
+        // NDJSON: un reporte por línea; si no, un arreglo JSON enviado por partes (chunked)
+        response.setContentType(ndjson ? "application/x-ndjson" : "application/json");
+        response.setCharacterEncoding("UTF-8");
 
-        // Obtener todos los reportes (o usar una consulta filtrada si tienes MongoDB/Spring Data)
-        List<Report> allReports = reportRepository.findAll();
+        // Cada reporte se escribe apenas llega del cursor: el primer byte no espera a la consulta completa
+        try (JsonGenerator generator = reportJsonCodec.createGenerator(response.getOutputStream());
+             Stream<Report> reports = reportRepository.streamByFilters(filter, STREAM_BATCH_SIZE)) {
 
-        // Filtrar manualmente con Streams
-        return allReports.stream().filter(report -> status == null || report.getStatus().name().equalsIgnoreCase(status)).filter(report -> categories == null || report.getCategories().stream().anyMatch(categories::contains)).filter(report -> startDate == null || !report.getDate().toLocalDate().isBefore(startDate)).filter(report -> endDate == null || !report.getDate().toLocalDate().isAfter(endDate)).filter(report -> {
-            if (lat == null || lng == null || radius == null) return true;
-            double distance = calculateDistance(report.getLocation().getY(), report.getLocation().getX(), lat, lng);
-            return distance <= radius;
-        }).collect(Collectors.toList());
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+            Iterator<Report> iterator = reports.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                reportJsonCodec.writeReport(generator, convertToResponse(iterator.next(), "Filtrado exitoso"));
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+                // Se envía al cliente por lotes para no acumular la respuesta en el buffer
+                if (++written % STREAM_BATCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
     }
 
     // Devuelve la lista de IDs de usuarios que marcaron el reporte como importante
     public List<String> getLikedBy(String reportId) {
-        Report report = reportRepository.findById(reportId).orElseThrow(() -> new ResourceNotFoundException("Reporte no encontrado"));
-        return new ArrayList<>(report.getLikedBy());
+        if (!reportRepository.existsById(reportId)) {
+            throw new ResourceNotFoundException("Reporte no encontrado");
+        }
+        return reportLikeRepository.findByReportId(reportId).stream().map(ReportLike::getUserId).toList();
     }
 
     // Devuelve la lista de IDs de reportes que un usuario ha marcado como importantes
     public List<String> getLikedReports(String userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
-        return new ArrayList<>(user.getLikedReports());
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Usuario no encontrado");
+        }
+        return reportLikeRepository.findByUserId(userId).stream().map(ReportLike::getReportId).toList();
     }
 
     private void notifyUserAboutRejection(String userId, String reportId, String reason) {
         // Puede ser email, notificación push, etc.
         log.info("Notificando al usuario {} sobre el rechazo del reporte {}. Razón: {}", userId, reportId, reason);
 
-        // Ejemplo con WebSocket:
-        String destination = "/queue/report-rejections";
+        // Por WebSocket, agrupado con las demás notificaciones del usuario
         String message = String.format("Tu reporte %s fue rechazado. Razón: %s. Tienes 5 días para corregirlo.", reportId, reason);
-        messagingTemplate.convertAndSendToUser(userId, destination, message);
+        notificationAggregator.send(userId, NotificationAggregator.REPORT_REJECTED, message);
     }
 
     private void validateResubmissionDeadline(Report report) {
@@ -550,23 +617,23 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
-    private void setStatusSpecificData(Report report, ReportStatus status, String rejectionReason, User user) {
+    private void setStatusSpecificData(Update update, ReportStatus status, String rejectionReason, User user) {
         switch (status) {
             case REJECTED:
-                report.setRejectionReason(rejectionReason);
-                report.setRejectionDate(LocalDateTime.now());
-                report.setResubmissionDeadline(LocalDateTime.now().plusDays(5));
+                update.set("rejectionReason", rejectionReason);
+                update.set("rejectionDate", LocalDateTime.now());
+                update.set("resubmissionDeadline", LocalDateTime.now().plusDays(5));
                 break;
 
             case VERIFIED:
-                report.setVerifiedBy(user.getId());
-                report.setVerificationDate(LocalDateTime.now());
+                update.set("verifiedBy", user.getId());
+                update.set("verificationDate", LocalDateTime.now());
                 break;
 
             case RESOLVED:
-                report.setResolutionDate(LocalDateTime.now());
+                update.set("resolutionDate", LocalDateTime.now());
                 if (user.getRole() == Role.ADMIN) {
-                    report.setResolvedBy(user.getId());
+                    update.set("resolvedBy", user.getId());
                 }
                 break;
 
@@ -575,15 +642,31 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
-    private void notifyStatusChange(String reportId, String oldStatus, String newStatus, Role userRole) {
-        String destination = "/queue/status-updates";
-        String message = String.format("Reporte %s cambió de %s a %s", reportId, oldStatus, newStatus);
+    // Campos que el autor puede editar (updateReport y resubmitReport)
+    private Update editUpdate(ReportRequest request) {
+        return new Update()
+                .set("title", request.title())
+                .set("description", request.description())
+                .set("location", new GeoJsonPoint(request.location().longitude(), request.location().latitude()))
+                .set("categories", request.categories())
+                .set("date", LocalDateTime.now());
+    }
 
-        if (userRole == Role.ADMIN && "VERIFIED".equals(newStatus)) {
-            message += " (Verificado por administrador)";
+    // $set/$inc atómico condicionado al estado leído: si otro cambio de estado llegó antes, no se aplica
+    private Report applyUpdate(String reportId, ReportStatus expectedStatus, Update update) {
+        Report updated = reportRepository.updateIfStatus(reportId, expectedStatus, update);
+        if (updated == null) {
+            if (!reportRepository.existsById(reportId)) {
+                throw new ResourceNotFoundException("Reporte no encontrado");
+            }
+            throw new ValueConflictException("El estado del reporte cambió mientras se actualizaba, intenta de nuevo");
         }
+        return updated;
+    }
 
-        messagingTemplate.convertAndSend(destination, message);
-        log.info("Notificación de cambio de estado enviada: {}", message);
+    // ReportNotificationController entrega el evento al dueño y a los suscriptores de este reporte
+    private void publishStatusChange(Report report, String oldStatus) {
+        eventPublisher.publishEvent(new ReportStatusChangedEvent(this, report, report.getIdUser(), oldStatus, report.getStatus().name()));
+        log.info("Cambio de estado del reporte {} publicado: {} -> {}", report.getId(), oldStatus, report.getStatus());
     }
 }
\ No newline at end of file
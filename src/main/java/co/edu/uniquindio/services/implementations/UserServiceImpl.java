@@ -1,5 +1,7 @@
 package co.edu.uniquindio.services.implementations;
 
+import co.edu.uniquindio.cache.ReportResponseCache;
+import co.edu.uniquindio.cache.UserLocationIndex;
 import co.edu.uniquindio.exceptions.ResourceNotFoundException;
 import co.edu.uniquindio.exceptions.ValueConflictException;
 import co.edu.uniquindio.mappers.UserMapper;
@@ -15,6 +17,7 @@ import co.edu.uniquindio.repositories.UserRepository;
 import co.edu.uniquindio.services.interfaces.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -34,11 +37,13 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final BCryptPasswordEncoder passwordEncoder;
     private final ReportRepository reportRepository;
+    private final UserLocationIndex userLocationIndex;
+    private final ReportResponseCache reportResponseCache;
 
     @Override
     public UserResponse createUser(UserRegistrationRequest request) {
-        // Verificar si el email ya está en uso
-        if (userRepository.findByEmail(request.email()).isPresent()) {
+        // Verificar si el email ya está en uso (en cualquier estado, igual que el índice único)
+        if (userRepository.existsByEmail(request.email())) {
             throw new ValueConflictException("Email ya registrado");
         }
 
@@ -54,12 +59,16 @@ public class UserServiceImpl implements UserService {
         User newUser = User.builder().id(request.id()).name(request.fullName()).email(request.email()).password(encode(request.password())) //Encriptar contraseña
                 .phone(request.phone()).address(request.address()).city(request.city()).birthDate(java.sql.Date.valueOf(request.dateBirth())) //Convertir LocalDate a Date
                 .role(Role.CLIENT).status(UserStatus.REGISTERED).activationCodes(new ArrayList<>()) // Lista vacía de códigos de activación
-                .reports(new ArrayList<>()) // Lista vacía de reportes
                 .location(location).build();
 
 
-        // Guardar el usuario en MongoDB
-        newUser = userRepository.save(newUser);
+        // Guardar el usuario en MongoDB; si otro registro con el mismo email ganó la carrera, lo rechaza el índice único
+        try {
+            newUser = userRepository.save(newUser);
+        } catch (DuplicateKeyException e) {
+            throw new ValueConflictException("Email ya registrado");
+        }
+        userLocationIndex.put(newUser.getId(), newUser.getLocation());
 
         // Retornar la respuesta mapeada
         return userMapper.toUserResponse(newUser);
@@ -79,7 +88,7 @@ public class UserServiceImpl implements UserService {
         // 1. Validar y desactivar usuario
         User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
 
-        if (!user.isActive()) {
+        if (user.getStatus() == UserStatus.INACTIVE) { // active no es confiable en usuarios antiguos (quedaron en false)
             log.warn("El usuario {} ya estaba desactivado", userId);
             return;
         }
@@ -88,6 +97,7 @@ public class UserServiceImpl implements UserService {
         user.setStatus(UserStatus.INACTIVE);
         user.setDeactivationDate(LocalDateTime.now()); // Nuevo campo para auditoría
         userRepository.save(user);
+        userLocationIndex.remove(userId); // Ya no recibe notificaciones de reportes cercanos
 
         // 2. Anonimizar reportes (con verificación)
         List<Report> userReports = reportRepository.findByIdUser(userId);
@@ -101,6 +111,7 @@ public class UserServiceImpl implements UserService {
                 }
             });
             reportRepository.saveAll(userReports);
+            reportResponseCache.invalidateAll(userReports.stream().map(Report::getId).toList());
             log.info("{} reportes anonimizados para el usuario {}", userReports.size(), userId);
         } else {
             log.info("El usuario {} no tenía reportes para anonimizar", userId);
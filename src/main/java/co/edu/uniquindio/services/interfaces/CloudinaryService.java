@@ -2,9 +2,15 @@ package co.edu.uniquindio.services.interfaces;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.List;
 
 public interface CloudinaryService {
     List<String> uploadImages(List<MultipartFile> files);
 
+    List<String> uploadFiles(List<Path> files);
+
+    // Elimina de Cloudinary las imágenes indicadas por URL (los errores se registran y no se propagan)
+    void deleteImages(List<String> imageUrls);
+
 }
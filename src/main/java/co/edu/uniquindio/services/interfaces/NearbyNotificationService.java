@@ -0,0 +1,15 @@
+package co.edu.uniquindio.services.interfaces;
+
+import co.edu.uniquindio.model.Report;
+
+public interface NearbyNotificationService {
+
+    // Encola el reporte para notificar a los usuarios cercanos; retorna false si la cola está llena
+    boolean enqueue(Report report, String authorId);
+
+    int getQueueDepth();
+
+    long getLastLagMillis();
+
+    long getDroppedCount();
+}
@@ -0,0 +1,16 @@
+package co.edu.uniquindio.services.interfaces;
+
+public interface NotificationAggregator {
+
+    // Tipos de notificación que se envían en /user/queue/notifications
+    String NEARBY_REPORT = "NEARBY_REPORT";
+    String STATUS_UPDATE = "STATUS_UPDATE";
+    String REPORT_REJECTED = "REPORT_REJECTED";
+    String REPORT_MEDIA = "REPORT_MEDIA";
+    String NEW_COMMENT_ON_YOUR_REPORT = "NEW_COMMENT_ON_YOUR_REPORT";
+
+    // Agrega la notificación al lote del usuario; se envía al cerrar la ventana o al llenarse el lote
+    void send(String userId, String type, Object payload);
+
+    int getPendingUsers();
+}
@@ -0,0 +1,25 @@
+package co.edu.uniquindio.services.interfaces;
+
+import co.edu.uniquindio.dto.NotificationResponse;
+import co.edu.uniquindio.model.Notification;
+
+import java.util.List;
+
+public interface NotificationInboxService {
+
+    // Encola las notificaciones para guardarlas en segundo plano (inserciones agrupadas de varios usuarios);
+    // los buzones se recortan periódicamente al máximo configurado
+    void storeAsync(List<Notification> notifications);
+
+    // Reserva count secuencias consecutivas del usuario en el contador persistido; devuelve la primera
+    long reserveSequences(String userId, int count);
+
+    // Notificaciones con secuencia mayor al cursor (en orden); sin cursor, las más recientes
+    List<NotificationResponse> findSince(String userId, String sinceSequence, int limit);
+
+    long countUnread(String userId);
+
+    long markRead(String userId, List<String> notificationIds);
+
+    long markAllRead(String userId);
+}
@@ -0,0 +1,16 @@
+package co.edu.uniquindio.services.interfaces;
+
+import co.edu.uniquindio.model.Report;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface ReportMediaService {
+
+    // Guarda las imágenes en disco local (antes de crear el reporte) y retorna la carpeta temporal
+    Path spool(List<MultipartFile> images);
+
+    // Asocia las imágenes guardadas al reporte y las encola para subirlas en segundo plano
+    void schedule(Path spoolDir, Report report);
+}
@@ -3,6 +3,7 @@ package co.edu.uniquindio.services.interfaces;
 import co.edu.uniquindio.dto.*;
 import co.edu.uniquindio.model.enums.ReportStatus;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.data.domain.Pageable;
 
 import java.io.IOException;
 import java.time.LocalDate;
@@ -22,10 +23,14 @@ public interface ReportService {
 
     ReportResponse resubmitReport(ReportRequest request, String reportId, String userId);
 
-    List<ReportResponse> getReportsWithFilters(ReportFilterRequest filter, String adminId);
+    List<ReportResponse> getReportsWithFilters(ReportFilterRequest filter, Pageable pageable, String adminId);
 
     List<ReportResponse> getReportsByUserId(String userId);
 
+    ReportPageResponse getReportsByUserIdPage(String userId, String cursor, int size);
+
+    ReportPageResponse getReportsFeed(String status, List<String> categories, String cursor, int size);
+
     ReportResponse getReportById(String reportId);
 
     List<String> getLikedReports(String userId);
@@ -34,6 +39,8 @@ public interface ReportService {
 
     void toggleReportImportance(String reportId, String userId);
 
+    void streamReportsJson(ReportFilterRequest filter, String adminId, boolean ndjson, HttpServletResponse response) throws IOException;
+
     void generatePdfReport(String status, List<String> categories, LocalDate startDate, LocalDate endDate, Double lat, Double lng, Double radius, HttpServletResponse response) throws IOException;
 
 
@@ -0,0 +1,26 @@
+package co.edu.uniquindio.utils;
+
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371; // Radio medio de la Tierra en km
+
+    private GeoUtils() {
+    }
+
+    // Distancia en km entre dos coordenadas (fórmula de Haversine)
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2) + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return EARTH_RADIUS_KM * c;
+    }
+
+    // Distancia en km -> radianes (radio de $centerSphere), con el mismo radio que distanceKm
+    public static double kmToRadians(double km) {
+        return km / EARTH_RADIUS_KM;
+    }
+}
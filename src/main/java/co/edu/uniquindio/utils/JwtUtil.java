@@ -1,15 +1,29 @@
 package co.edu.uniquindio.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
@@ -17,13 +31,59 @@ public class JwtUtil {
     @Value("${jwt.secret}") // Clave desde application.properties
     private String secretString;
 
+    @Value("${jwt.claims-cache.max-size:10000}") // Máximo de tokens verificados en caché
+    private long claimsCacheMaxSize;
+
     private Key secretKey;
+    private JwtParser parser;
+    private Cache<String, Claims> claimsCache;
+    private MeterRegistry meterRegistry;
     private final long expirationTime = 900000; // 15 minutos
 
+    // Opcional: las pruebas crean JwtUtil sin registro de métricas
+    @Autowired
+    public void setMeterRegistry(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable();
+    }
+
     @PostConstruct
     public void init() {
         // Convierte la cadena secreta en una Key válida
         this.secretKey = Keys.hmacShaKeyFor(secretString.getBytes());
+
+        // El parser es inmutable y seguro entre hilos: se construye una sola vez
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+
+        // Cada entrada vive hasta la expiración del propio token
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        Date expiration = claims.getExpiration();
+                        long millisLeft = expiration != null ? expiration.getTime() - System.currentTimeMillis() : 0;
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        // Aciertos/fallos del caché de claims como cache.* con cache=jwtClaims
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwtClaims");
+        }
     }
 
     public String generateToken(String userId, String role) {
@@ -36,37 +96,27 @@ public class JwtUtil {
                 .compact();
     }
 
+    /// / Verifica firma y expiración y retorna los claims en una sola llamada
+    ///
+    /// / Retorna vacío si el token es inválido o expiró
+    public Optional<Claims> verifyToken(String token) {
+        try {
+            return Optional.of(parseClaims(token));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
 
     public String extractUserId(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            // Verifica expiración explícitamente
-            return !claims.getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
-        }
+        return verifyToken(token).isPresent();
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token);
     }
 
     //Método para pruebas
@@ -79,11 +129,36 @@ public class JwtUtil {
             token = token.substring(7);
         }
 
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token).getSubject();
+    }
+
+    // Solo para los benchmarks (verificación sin caché), a través de un ayudante del mismo paquete
+    void clearClaimsCache() {
+        claimsCache.invalidateAll();
+    }
+
+    // --- Métodos auxiliares ---
 
-        return claims.getSubject();
+    // Los tokens ya verificados se toman del caché (clave: hash del token) y se omite la verificación HMAC
+    private Claims parseClaims(String token) {
+        String key = hash(token);
+        Claims cached = claimsCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Lanza JwtException si la firma no coincide o el token expiró
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        claimsCache.put(key, claims);
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
-}
\ No newline at end of file
+}
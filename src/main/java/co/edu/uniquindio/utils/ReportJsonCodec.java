@@ -0,0 +1,70 @@
+package co.edu.uniquindio.utils;
+
+import co.edu.uniquindio.dto.LocationDTO;
+import co.edu.uniquindio.dto.ReportRequest;
+import co.edu.uniquindio.dto.ReportResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Lectores y escritores JSON de reportes, resueltos una sola vez
+ * Usa el ObjectMapper de Spring (mismo que el de las respuestas REST), así no se crea
+ * un ObjectMapper por petición y los (de)serializadores quedan en caché
+ */
+@Component
+public class ReportJsonCodec {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader locationReader;
+    private final ObjectReader categoriesReader;
+    private final ObjectReader reportRequestReader;
+    private final ObjectWriter reportWriter;
+    private final ObjectWriter reportListWriter;
+
+    public ReportJsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.locationReader = objectMapper.readerFor(LocationDTO.class);
+        this.categoriesReader = objectMapper.readerFor(new TypeReference<List<String>>() {
+        });
+        this.reportRequestReader = objectMapper.readerFor(ReportRequest.class);
+        // En streaming el flush lo decide quien escribe (por lotes), no cada valor
+        this.reportWriter = objectMapper.writerFor(ReportResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.reportListWriter = objectMapper.writerFor(new TypeReference<List<ReportResponse>>() {
+        });
+    }
+
+    public LocationDTO readLocation(String json) throws IOException {
+        return locationReader.readValue(json);
+    }
+
+    public List<String> readCategories(String json) throws IOException {
+        return categoriesReader.readValue(json);
+    }
+
+    public ReportRequest readReportRequest(String json) throws IOException {
+        return reportRequestReader.readValue(json);
+    }
+
+    public void writeReports(Writer writer, List<ReportResponse> reports) throws IOException {
+        reportListWriter.writeValue(writer, reports);
+    }
+
+    public JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return objectMapper.getFactory().createGenerator(out);
+    }
+
+    public void writeReport(JsonGenerator generator, ReportResponse report) throws IOException {
+        reportWriter.writeValue(generator, report);
+    }
+}
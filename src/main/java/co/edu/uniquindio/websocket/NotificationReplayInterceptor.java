@@ -0,0 +1,135 @@
+package co.edu.uniquindio.websocket;
+
+import co.edu.uniquindio.dto.NotificationBatch;
+import co.edu.uniquindio.dto.NotificationItem;
+import co.edu.uniquindio.dto.NotificationResponse;
+import co.edu.uniquindio.services.interfaces.NotificationInboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reenvía las notificaciones del buzón que el usuario no recibió mientras estaba desconectado
+ * - El cliente envía la secuencia de la última notificación recibida en el header "since" del CONNECT
+ *   (o del SUBSCRIBE); sin header no se reenvía nada
+ * - Al suscribirse a /user/queue/notifications se envían las posteriores a "since" solo a esa sesión,
+ *   en lotes del mismo tamaño que los frames normales
+ * - Se ejecuta después de que el broker registró la suscripción (canal del broker), para que los
+ *   frames no se pierdan; con relay el registro es asíncrono y el reenvío es de mejor esfuerzo
+ *   (GET /api/notifications?since= sigue disponible)
+ * - Los frames reenviados llevan la secuencia guardada, igual que los de la entrega en vivo
+ * - Una notificación puede llegar dos veces si se envió justo durante el reenvío: el cliente descarta por secuencia
+ */
+@Component
+@Slf4j
+public class NotificationReplayInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String SINCE_HEADER = "since";
+    private static final String NOTIFICATIONS_DESTINATION = "/queue/notifications";
+    private static final String USER_NOTIFICATIONS_DESTINATION = "/user" + NOTIFICATIONS_DESTINATION;
+    private static final String SINCE_ATTRIBUTE = NotificationReplayInterceptor.class.getName() + ".since";
+
+    private final NotificationInboxService inboxService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int maxReplay;
+    private final int batchSize;
+
+    // @Lazy: el template depende de los canales que se configuran con este interceptor
+    public NotificationReplayInterceptor(NotificationInboxService inboxService,
+                                         @Lazy SimpMessagingTemplate messagingTemplate,
+                                         @Value("${resqnet.notifications.replay.max:500}") int maxReplay,
+                                         @Value("${resqnet.notifications.batch.max-size:50}") int batchSize) {
+        this.inboxService = inboxService;
+        this.messagingTemplate = messagingTemplate;
+        this.maxReplay = maxReplay;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Canal de entrada: guarda el "since" del CONNECT en los atributos de la sesión
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String since = accessor.getFirstNativeHeader(SINCE_HEADER);
+            Map<String, Object> attributes = accessor.getSessionAttributes();
+            if (since != null && attributes != null) {
+                attributes.put(SINCE_ATTRIBUTE, since);
+            }
+        }
+        return message;
+    }
+
+    // Canal del broker: la suscripción ya quedó registrada cuando el broker terminó de procesarla
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (ex != null || !(handler instanceof AbstractBrokerMessageHandler)) {
+            return;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (!SimpMessageType.SUBSCRIBE.equals(accessor.getMessageType())
+                || !USER_NOTIFICATIONS_DESTINATION.equals(accessor.getFirstNativeHeader(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION))) {
+            return;
+        }
+        Principal user = accessor.getUser();
+        String since = resolveSince(accessor);
+        if (user == null || since == null || since.isBlank()) {
+            return;
+        }
+        try {
+            replay(user.getName(), accessor.getSessionId(), since);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron reenviar las notificaciones del usuario {}: {}", user.getName(), e.getMessage());
+        }
+    }
+
+    // --- Métodos auxiliares ---
+
+    private String resolveSince(SimpMessageHeaderAccessor accessor) {
+        String since = accessor.getFirstNativeHeader(SINCE_HEADER);
+        if (since == null && accessor.getSessionAttributes() != null) {
+            since = (String) accessor.getSessionAttributes().get(SINCE_ATTRIBUTE);
+        }
+        return since;
+    }
+
+    private void replay(String userId, String sessionId, String since) {
+        List<NotificationItem> missed = inboxService.findSince(userId, since, maxReplay).stream()
+                .map(this::toItem)
+                .toList();
+        for (int from = 0; from < missed.size(); from += batchSize) {
+            List<NotificationItem> chunk = missed.subList(from, Math.min(from + batchSize, missed.size()));
+            messagingTemplate.convertAndSendToUser(userId, NOTIFICATIONS_DESTINATION, new NotificationBatch(chunk), sessionHeaders(sessionId));
+        }
+        if (!missed.isEmpty()) {
+            log.debug("Reenviadas {} notificaciones al usuario {} (sesión {})", missed.size(), userId, sessionId);
+        }
+    }
+
+    private NotificationItem toItem(NotificationResponse notification) {
+        return new NotificationItem(notification.id(), notification.sequence(), notification.type(), notification.payload(), notification.createdAt());
+    }
+
+    // Con el sessionId en los headers el mensaje llega solo a esa sesión del usuario
+    private Map<String, Object> sessionHeaders(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+}
@@ -0,0 +1,119 @@
+package co.edu.uniquindio.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registro de qué usuarios siguen el estado de cada reporte
+ * - Se alimenta de los eventos SUBSCRIBE / UNSUBSCRIBE / DISCONNECT de STOMP
+ *   sobre /topic/reports/{reportId}/status (igual que /topic/reports/{reportId}/comments)
+ * - Un cambio de estado se publica una sola vez en el destino del reporte y el broker lo entrega solo
+ *   a sus suscriptores (indexados por destino), no a todas las sesiones
+ * - El índice solo conoce las sesiones de este nodo: evita publicar cuando nadie sigue el reporte y
+ *   alimenta las métricas. Con resqnet.websocket.broker=relay los suscriptores de otros nodos solo los
+ *   conoce el broker, así que siempre se publica y el broker hace el ruteo
+ */
+@Component
+@Slf4j
+public class ReportSubscriptionRegistry {
+
+    private static final String STATUS_DESTINATION_PREFIX = "/topic/reports/";
+    private static final String STATUS_DESTINATION_SUFFIX = "/status";
+    private static final Pattern STATUS_DESTINATION = Pattern.compile("^/topic/reports/([^/]+)/status$");
+
+    // reportId -> (userId -> número de suscripciones activas de ese usuario)
+    private final Map<String, Map<String, Integer>> subscribersByReport = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> suscripción), para resolver UNSUBSCRIBE y DISCONNECT
+    private final Map<String, Map<String, Subscription>> subscriptionsBySession = new ConcurrentHashMap<>();
+
+    private final boolean relay;
+
+    public ReportSubscriptionRegistry(@Value("${resqnet.websocket.broker:simple}") String brokerMode) {
+        this.relay = "relay".equalsIgnoreCase(brokerMode);
+    }
+
+    public static String statusDestination(String reportId) {
+        return STATUS_DESTINATION_PREFIX + reportId + STATUS_DESTINATION_SUFFIX;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = headers.getDestination();
+        Principal user = event.getUser();
+        if (destination == null || user == null) {
+            return;
+        }
+        Matcher matcher = STATUS_DESTINATION.matcher(destination);
+        if (!matcher.matches()) {
+            return;
+        }
+
+        Subscription subscription = new Subscription(matcher.group(1), user.getName());
+        subscriptionsBySession.computeIfAbsent(headers.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(headers.getSubscriptionId(), subscription);
+        subscribersByReport.computeIfAbsent(subscription.reportId(), id -> new ConcurrentHashMap<>())
+                .merge(subscription.userId(), 1, Integer::sum);
+        log.debug("Usuario {} sigue el estado del reporte {}", subscription.userId(), subscription.reportId());
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, Subscription> subscriptions = subscriptionsBySession.get(headers.getSessionId());
+        if (subscriptions != null) {
+            Subscription subscription = subscriptions.remove(headers.getSubscriptionId());
+            if (subscription != null) {
+                release(subscription);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Subscription> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    // Usuarios de este nodo con al menos una suscripción al estado del reporte
+    public Set<String> getSubscribers(String reportId) {
+        Map<String, Integer> local = subscribersByReport.get(reportId);
+        return local == null ? Set.of() : Set.copyOf(local.keySet());
+    }
+
+    // Si vale la pena publicar el cambio de estado: con relay puede haber suscriptores en otros nodos
+    public boolean shouldPublish(String reportId) {
+        return relay || subscribersByReport.containsKey(reportId);
+    }
+
+    public int getSubscribedReports() {
+        return subscribersByReport.size();
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void release(Subscription subscription) {
+        subscribersByReport.computeIfPresent(subscription.reportId(), (reportId, subscribers) -> {
+            subscribers.computeIfPresent(subscription.userId(), (userId, count) -> count > 1 ? count - 1 : null);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private record Subscription(String reportId, String userId) {
+    }
+}
@@ -0,0 +1,45 @@
+package co.edu.uniquindio.websocket;
+
+import co.edu.uniquindio.services.interfaces.NotificationAggregator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges de WebSocket y notificaciones (las sesiones abiertas se cuentan en WebSocketConfig):
+ * - websocket.users: usuarios conectados (con relay, los de todos los nodos)
+ * - websocket.report_subscriptions: reportes con al menos un suscriptor a su estado en este nodo
+ * - notifications.pending.users: usuarios con notificaciones esperando el cierre de su ventana
+ */
+@Component
+public class WebSocketMetrics implements MeterBinder {
+
+    private final SimpUserRegistry userRegistry;
+    private final ReportSubscriptionRegistry subscriptionRegistry;
+    private final NotificationAggregator notificationAggregator;
+
+    // @Lazy: los binders se crean junto con el MeterRegistry, antes que la configuración de WebSocket
+    public WebSocketMetrics(@Lazy SimpUserRegistry userRegistry,
+                            ReportSubscriptionRegistry subscriptionRegistry,
+                            @Lazy NotificationAggregator notificationAggregator) {
+        this.userRegistry = userRegistry;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.notificationAggregator = notificationAggregator;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("websocket.users", userRegistry, SimpUserRegistry::getUserCount)
+                .description("Usuarios con al menos una sesión STOMP")
+                .register(registry);
+        Gauge.builder("websocket.report_subscriptions", subscriptionRegistry, ReportSubscriptionRegistry::getSubscribedReports)
+                .description("Reportes con suscriptores a su estado")
+                .register(registry);
+        Gauge.builder("notifications.pending.users", notificationAggregator, NotificationAggregator::getPendingUsers)
+                .description("Usuarios con notificaciones pendientes de envío")
+                .register(registry);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.cache;
+
+import co.edu.uniquindio.cache.CategoryRegistry;
+import co.edu.uniquindio.dto.CategoryResponse;
+import co.edu.uniquindio.mappers.CategoryMapper;
+import co.edu.uniquindio.model.Category;
+import co.edu.uniquindio.model.enums.CategoryStatus;
+import co.edu.uniquindio.repositories.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategoryRegistryTest {
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategoryMapper categoryMapper = mock(CategoryMapper.class);
+    private final List<Category> stored = new ArrayList<>();
+    private CategoryRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        stored.add(category("c1", "Incendio", CategoryStatus.ACTIVE));
+        stored.add(category("c2", "Inundación", CategoryStatus.ACTIVE));
+        stored.add(category("c3", "Antigua", CategoryStatus.DELETED));
+        // Cada carga ve lo que haya en la colección en ese momento
+        when(categoryRepository.findAll()).thenAnswer(invocation -> List.copyOf(stored));
+        when(categoryMapper.toCategoryResponse(any(Category.class))).thenAnswer(invocation -> {
+            Category category = invocation.getArgument(0);
+            return new CategoryResponse(category.getIdCategory(), category.getName(), category.getDescription());
+        });
+        registry = new CategoryRegistry(categoryRepository, categoryMapper, new SimpleMeterRegistry(), 10);
+    }
+
+    @Test
+    void testKnownIdsAreValidatedInMemory() {
+        // Sección de Act
+        List<String> first = registry.findMissing(List.of("c1", "c2"));
+        List<String> second = registry.findMissing(List.of("c3"));
+
+        // Sección de Assert: una sola carga y ninguna consulta por ID
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void testInvalidateReloadsTheSnapshot() {
+        assertEquals(List.of("Incendio", "Inundación"), names(registry.findAllByStatus(CategoryStatus.ACTIVE)));
+        stored.add(category("c4", "Deslizamiento", CategoryStatus.ACTIVE));
+
+        registry.invalidate();
+
+        assertEquals(List.of("Incendio", "Inundación", "Deslizamiento"), names(registry.findAllByStatus(CategoryStatus.ACTIVE)));
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testMissingIdIsConfirmedInMongoBeforeRejecting() {
+        // Sección de Arrange: c4 se creó en otro nodo después de la carga; c9 no existe
+        registry.findMissing(List.of("c1"));
+        stored.add(category("c4", "Deslizamiento", CategoryStatus.ACTIVE));
+        when(categoryRepository.existsById("c4")).thenReturn(true);
+        when(categoryRepository.existsById("c9")).thenReturn(false);
+
+        // Sección de Act
+        List<String> missing = registry.findMissing(List.of("c1", "c4", "c9"));
+
+        // Sección de Assert: solo se rechaza c9 y la copia se recarga con c4
+        assertEquals(List.of("c9"), missing);
+        assertTrue(registry.findMissing(List.of("c4")).isEmpty());
+        verify(categoryRepository, times(1)).existsById("c4");
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testCachedCategoriesCannotBeModifiedByCallers() {
+        List<CategoryResponse> active = registry.findAllByStatus(CategoryStatus.ACTIVE);
+
+        assertThrows(UnsupportedOperationException.class, () -> active.add(new CategoryResponse("c5", "Otra", null)));
+        // Cambiar la entidad cargada no cambia lo que devuelve la caché
+        stored.get(0).setName("Modificada");
+        assertEquals(List.of("Incendio", "Inundación"), names(registry.findAllByStatus(CategoryStatus.ACTIVE)));
+        assertEquals(List.of("Antigua"), names(registry.findAllByStatus(CategoryStatus.DELETED)));
+    }
+
+    // --- Métodos auxiliares ---
+
+    private static Category category(String id, String name, CategoryStatus status) {
+        return Category.builder().idCategory(id).name(name).description("Descripción de " + name).status(status).build();
+    }
+
+    private static List<String> names(List<CategoryResponse> categories) {
+        return categories.stream().map(CategoryResponse::name).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.cache;
+
+import co.edu.uniquindio.cache.UserLocationIndex;
+import co.edu.uniquindio.model.User;
+import co.edu.uniquindio.model.enums.Role;
+import co.edu.uniquindio.model.enums.UserStatus;
+import co.edu.uniquindio.utils.GeoUtils;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLocationIndexTest {
+
+    private UserLocationIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new UserLocationIndex(null, 0.05);
+    }
+
+    @Test
+    void testFindWithinMatchesBruteForce() {
+        // Sección de Arrange: usuarios aleatorios alrededor de Armenia (Quindío)
+        Random random = new Random(42);
+        List<double[]> points = IntStream.range(0, 5_000)
+                .mapToObj(i -> new double[]{4.5 + random.nextDouble() * 0.5, -75.9 + random.nextDouble() * 0.5})
+                .toList();
+        for (int i = 0; i < points.size(); i++) {
+            index.put("user-" + i, new GeoJsonPoint(points.get(i)[1], points.get(i)[0]));
+        }
+
+        // Sección de Act: búsqueda de 10 km alrededor de un punto
+        List<UserLocationIndex.NearbyUser> nearby = index.findWithin(4.534, -75.677, 10, "user-0");
+
+        // Sección de Assert: mismo resultado que recorrer todos los usuarios, ordenado por distancia
+        Set<String> expected = IntStream.range(1, points.size())
+                .filter(i -> GeoUtils.distanceKm(4.534, -75.677, points.get(i)[0], points.get(i)[1]) <= 10)
+                .mapToObj(i -> "user-" + i)
+                .collect(Collectors.toSet());
+        assertEquals(expected, nearby.stream().map(UserLocationIndex.NearbyUser::userId).collect(Collectors.toSet()));
+        for (int i = 1; i < nearby.size(); i++) {
+            assertTrue(nearby.get(i - 1).distanceKm() <= nearby.get(i).distanceKm());
+        }
+    }
+
+    @Test
+    void testMoveAndRemoveUser() {
+        index.put("ana", new GeoJsonPoint(-75.677, 4.534));
+        assertEquals(1, index.findWithin(4.534, -75.677, 1, null).size());
+
+        // Se mueve a Bogotá: ya no aparece cerca de Armenia
+        index.put("ana", new GeoJsonPoint(-74.060, 4.710));
+        assertTrue(index.findWithin(4.534, -75.677, 1, null).isEmpty());
+        assertEquals(1, index.findWithin(4.710, -74.060, 1, null).size());
+
+        index.remove("ana");
+        assertTrue(index.findWithin(4.710, -74.060, 1, null).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testSearchAcrossAntimeridian() {
+        index.put("este", new GeoJsonPoint(179.99, 0));
+        index.put("oeste", new GeoJsonPoint(-179.99, 0));
+
+        assertEquals(2, index.findWithin(0, 180, 5, null).size());
+    }
+
+    @Test
+    void testLoadIncludesUsersBuiltWithBuilder() {
+        // Sección de Arrange: usuarios como los crea UserServiceImpl.createUser (User.builder(), sin fijar active)
+        User registered = User.builder().id("ana").email("ana@correo.com").role(Role.CLIENT)
+                .status(UserStatus.REGISTERED).location(new GeoJsonPoint(-75.677, 4.534)).build();
+        User activated = User.builder().id("luis").email("luis@correo.com").role(Role.CLIENT)
+                .status(UserStatus.ACTIVE).location(new GeoJsonPoint(-75.678, 4.535)).build();
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.stream(query.capture(), eq(User.class))).thenReturn(Stream.of(registered, activated));
+        UserLocationIndex loadedIndex = new UserLocationIndex(mongoTemplate, 0.05);
+
+        // Sección de Act
+        loadedIndex.load();
+
+        // Sección de Assert: el builder deja active=true y la carga filtra por status, no por active
+        assertTrue(registered.isActive());
+        verify(mongoTemplate).stream(query.getValue(), User.class);
+        Document filter = query.getValue().getQueryObject();
+        assertEquals(new Document("$ne", UserStatus.INACTIVE), filter.get("status"));
+        assertFalse(filter.containsKey("active"));
+        assertEquals(2, loadedIndex.size());
+        assertEquals(2, loadedIndex.findWithin(4.534, -75.677, 1, null).size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.config;
+
+import co.edu.uniquindio.config.MetricsScrapeTokenFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MetricsScrapeTokenFilterTest {
+
+    private static final String TOKEN = "s3cr3t-scrape";
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testValidTokenGrantsOnlyMetricsAuthority() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        new MetricsScrapeTokenFilter(TOKEN).doFilter(request("/actuator/prometheus", "Bearer " + TOKEN), new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("prometheus", authentication.getPrincipal());
+        assertEquals("METRICS", authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).findFirst().orElseThrow());
+        assertNotNull(chain.getRequest()); // La petición sigue por la cadena
+    }
+
+    @Test
+    void testWrongTokenLeavesRequestUnauthenticated() throws Exception {
+        new MetricsScrapeTokenFilter(TOKEN).doFilter(request("/actuator/prometheus", "Bearer otro-token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testTokenIsOnlyAcceptedOnPrometheusEndpoint() throws Exception {
+        new MetricsScrapeTokenFilter(TOKEN).doFilter(request("/actuator/metrics", "Bearer " + TOKEN), new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        new MetricsScrapeTokenFilter(TOKEN).doFilter(request("/api/admin/stats", "Bearer " + TOKEN), new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testWithoutConfiguredTokenNothingIsAccepted() throws Exception {
+        // resqnet.metrics.scrape-token vacío: "Bearer " sin token no debe coincidir con el token vacío
+        new MetricsScrapeTokenFilter("").doFilter(request("/actuator/prometheus", "Bearer "), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private static MockHttpServletRequest request(String path, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+}
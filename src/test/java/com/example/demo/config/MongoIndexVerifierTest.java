@@ -0,0 +1,70 @@
+package com.example.demo.config;
+
+import co.edu.uniquindio.config.MongoIndexVerifier;
+import co.edu.uniquindio.model.User;
+import com.example.demo.support.EmbeddedMongo;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MongoIndexVerifierTest {
+
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate = EmbeddedMongo.template("index-verifier-test");
+    }
+
+    @Test
+    void testUniqueEmailIndexIsCreatedWhenThereAreNoDuplicates() {
+        // Sección de Arrange: auto-index-creation ya creó los índices de User, pero no el de email
+        mongoTemplate.save(user("a@resqnet.test"));
+        mongoTemplate.save(user("b@resqnet.test"));
+        assertTrue(emailIndex().isEmpty());
+
+        // Sección de Act
+        new MongoIndexVerifier(mongoTemplate, true, true).run();
+
+        // Sección de Assert
+        List<Document> index = emailIndex();
+        assertEquals(1, index.size());
+        assertTrue(index.get(0).getBoolean("unique", false));
+    }
+
+    @Test
+    void testDuplicateEmailsSkipTheUniqueIndexInsteadOfFailingStartup() {
+        // Sección de Arrange: datos anteriores al índice con un correo repetido
+        mongoTemplate.save(user("a@resqnet.test"));
+        mongoTemplate.save(user("a@resqnet.test"));
+
+        // Sección de Act: sin fail-on-missing el arranque continúa
+        new MongoIndexVerifier(mongoTemplate, true, false).run();
+
+        // Sección de Assert: el índice no se crea y con fail-on-missing el arranque se detiene indicando el duplicado
+        assertTrue(emailIndex().isEmpty());
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> new MongoIndexVerifier(mongoTemplate, true, true).run());
+        assertTrue(error.getMessage().contains("a@resqnet.test"), error.getMessage());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private static User user(String email) {
+        return User.builder().email(email).build();
+    }
+
+    private List<Document> emailIndex() {
+        return mongoTemplate.getCollection("users").listIndexes().into(new ArrayList<>()).stream()
+                .filter(index -> index.get("key", Document.class).containsKey("email"))
+                .toList();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.config;
+
+import co.edu.uniquindio.config.ReportLikeCounterRepair;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.ReportLike;
+import co.edu.uniquindio.model.enums.ReportStatus;
+import co.edu.uniquindio.repositories.ReportRepository;
+import co.edu.uniquindio.repositories.ReportRepositoryCustomImpl;
+import com.example.demo.support.EmbeddedMongo;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class ReportLikeCounterRepairTest {
+
+    private MongoTemplate mongoTemplate;
+    private ReportRepository reportRepository;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate = EmbeddedMongo.template("report-like-repair-test");
+        reportRepository = EmbeddedMongo.repository(mongoTemplate, ReportRepository.class, new ReportRepositoryCustomImpl(mongoTemplate));
+    }
+
+    @Test
+    void testDecrementNeverGoesBelowZero() {
+        Report report = save(0);
+
+        reportRepository.incrementLikes(report.getId(), -1);
+
+        assertEquals(0, reportRepository.findById(report.getId()).orElseThrow().getRatingsImportant());
+    }
+
+    @Test
+    void testRepairRecountsDriftedCounters() {
+        // Sección de Arrange: contadores desviados (marca sin $inc y $inc sin marca) y uno correcto
+        Report missingInc = save(0);
+        Report extraInc = save(3);
+        Report correct = save(2);
+        like(missingInc, "ana");
+        like(missingInc, "luis");
+        like(extraInc, "ana");
+        like(correct, "ana");
+        like(correct, "luis");
+
+        // Sección de Act
+        new ReportLikeCounterRepair(mongoTemplate, true).run();
+
+        // Sección de Assert
+        assertEquals(2, reportRepository.findById(missingInc.getId()).orElseThrow().getRatingsImportant());
+        assertEquals(1, reportRepository.findById(extraInc.getId()).orElseThrow().getRatingsImportant());
+        assertEquals(2, reportRepository.findById(correct.getId()).orElseThrow().getRatingsImportant());
+    }
+
+    @Test
+    void testRepairReadsInt64CountersAndCanRunAgain() {
+        // Sección de Arrange: contador guardado como Int64 (como lo dejaban las versiones anteriores con $set de un long)
+        Report report = save(0);
+        like(report, "ana");
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(report.getId())),
+                new Update().set("ratingsImportant", 5L), Report.class);
+        ReportLikeCounterRepair repair = new ReportLikeCounterRepair(mongoTemplate, true);
+
+        // Sección de Act: la segunda ejecución lee lo que escribió la primera
+        repair.run();
+        repair.run();
+
+        // Sección de Assert: queda corregido y guardado como Int32
+        assertEquals(1, reportRepository.findById(report.getId()).orElseThrow().getRatingsImportant());
+        Document stored = mongoTemplate.findById(report.getId(), Document.class, mongoTemplate.getCollectionName(Report.class));
+        assertInstanceOf(Integer.class, stored.get("ratingsImportant"));
+    }
+
+    // --- Métodos auxiliares ---
+
+    private Report save(int ratingsImportant) {
+        return reportRepository.save(Report.builder().title("Reporte").status(ReportStatus.PENDING)
+                .idUser("owner").date(LocalDateTime.now()).ratingsImportant(ratingsImportant).build());
+    }
+
+    private void like(Report report, String userId) {
+        mongoTemplate.insert(ReportLike.builder().reportId(report.getId()).userId(userId).date(LocalDateTime.now()).build());
+    }
+}
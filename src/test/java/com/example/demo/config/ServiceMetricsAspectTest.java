@@ -0,0 +1,56 @@
+package com.example.demo.config;
+
+import co.edu.uniquindio.config.ServiceMetricsAspect;
+import co.edu.uniquindio.model.Notification;
+import co.edu.uniquindio.services.implementations.NotificationInboxServiceImpl;
+import co.edu.uniquindio.services.interfaces.NotificationInboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    @Test
+    void recordsSuccessAndErrorPerServiceMethod() {
+        NotificationInboxService service = proxy(new NotificationInboxServiceImpl(mongoTemplate, new ObjectMapper(), 200, 100, 200, 30_000));
+
+        when(mongoTemplate.count(any(Query.class), eq(Notification.class))).thenReturn(3L);
+        assertEquals(3L, service.countUnread("user-1"));
+        assertEquals(3L, service.countUnread("user-1"));
+
+        when(mongoTemplate.count(any(Query.class), eq(Notification.class))).thenThrow(new IllegalStateException("sin conexión"));
+        assertThrows(IllegalStateException.class, () -> service.countUnread("user-1"));
+
+        Timer success = registry.find("service.method")
+                .tags("class", "NotificationInboxServiceImpl", "method", "countUnread", "outcome", "success")
+                .timer();
+        Timer error = registry.find("service.method")
+                .tags("method", "countUnread", "outcome", "error", "exception", "IllegalStateException")
+                .timer();
+        assertNotNull(success);
+        assertNotNull(error);
+        assertEquals(2, success.count());
+        assertEquals(1, error.count());
+    }
+
+    private NotificationInboxService proxy(NotificationInboxService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.controllers.unit;
+
+import co.edu.uniquindio.controllers.NotificationController;
+import co.edu.uniquindio.dto.NotificationResponse;
+import co.edu.uniquindio.services.interfaces.NotificationInboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class NotificationControllerTest {
+
+    private final NotificationInboxService inboxService = Mockito.mock(NotificationInboxService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        // El userId llega como principal, igual que lo deja JwtTokenFilter
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("ana", null, List.of()));
+        mockMvc = MockMvcBuilders.standaloneSetup(new NotificationController(inboxService))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testGetNotificationsSinceCursor() throws Exception {
+        // Sección de Arrange
+        Mockito.when(inboxService.findSince("ana", "1", 20)).thenReturn(List.of(
+                new NotificationResponse("n-2", 2, "STATUS_UPDATE", "Reporte #r1: Cambió de PENDING a VERIFIED", false, "2025-03-10T08:30:00")));
+
+        // Sección de Act
+        mockMvc.perform(get("/api/notifications").param("since", "1").param("limit", "20"))
+                // Sección de Assert
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("n-2"))
+                .andExpect(jsonPath("$[0].sequence").value(2))
+                .andExpect(jsonPath("$[0].type").value("STATUS_UPDATE"))
+                .andExpect(jsonPath("$[0].read").value(false));
+    }
+
+    @Test
+    void testGetNotificationsDefaultsToLatestFifty() throws Exception {
+        Mockito.when(inboxService.findSince("ana", null, 50)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/notifications"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        Mockito.verify(inboxService).findSince("ana", null, 50);
+    }
+
+    @Test
+    void testUnreadCount() throws Exception {
+        Mockito.when(inboxService.countUnread("ana")).thenReturn(3L);
+
+        mockMvc.perform(get("/api/notifications/unread-count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unread").value(3));
+    }
+
+    @Test
+    void testMarkReadAndMarkAllRead() throws Exception {
+        Mockito.when(inboxService.markRead("ana", List.of("n-1", "n-2"))).thenReturn(2L);
+        Mockito.when(inboxService.markAllRead("ana")).thenReturn(5L);
+
+        mockMvc.perform(post("/api/notifications/read")
+                        .contentType("application/json")
+                        .content("[\"n-1\", \"n-2\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        mockMvc.perform(post("/api/notifications/read-all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(5));
+
+        Mockito.verify(inboxService).markRead("ana", List.of("n-1", "n-2"));
+        Mockito.verify(inboxService).markAllRead("ana");
+        Mockito.verifyNoMoreInteractions(inboxService);
+    }
+}
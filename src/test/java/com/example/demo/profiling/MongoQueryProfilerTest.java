@@ -0,0 +1,92 @@
+package com.example.demo.profiling;
+
+import co.edu.uniquindio.dto.SlowQueryEntry;
+import co.edu.uniquindio.profiling.MongoQueryProfiler;
+import co.edu.uniquindio.profiling.SlowQueryLog;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class MongoQueryProfilerTest {
+
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(10);
+
+    @SuppressWarnings("unchecked")
+    private final MongoQueryProfiler profiler = new MongoQueryProfiler(
+            slowQueryLog, mock(ObjectProvider.class), meterRegistry, 0, false, 1);  // todo es lento, sin explain, sin muestreo
+
+    @Test
+    void recordsSlowQueryShapeWithoutValuesAndDocsReturned() {
+        BsonDocument find = BsonDocument.parse("""
+                {find: "users", filter: {email: "ana@correo.com", $or: [{name: {$regex: "an"}}, {city: {$in: ["Armenia", "Pereira"]}}]},
+                 sort: {name: 1}, $db: "resqnet", lsid: {id: 1}}""");
+        BsonDocument response = BsonDocument.parse("{cursor: {id: 0, ns: 'resqnet.users', firstBatch: [{_id: 1}, {_id: 2}]}, ok: 1}");
+
+        profiler.commandStarted(new CommandStartedEvent(null, 1, 7, CONNECTION, "resqnet", "find", find));
+        profiler.commandSucceeded(new CommandSucceededEvent(null, 1, 7, CONNECTION, "resqnet", "find", response, 150_000_000L));
+
+        List<SlowQueryEntry> entries = slowQueryLog.latest(10);
+        assertEquals(1, entries.size());
+        SlowQueryEntry entry = entries.get(0);
+        assertEquals("users", entry.collection());
+        assertEquals(2, entry.docsReturned());
+        assertEquals(150.0, entry.durationMs(), 0.001);
+        assertNull(entry.planSummary());
+        assertTrue(entry.shape().contains("\"$regex\": \"?\""), entry.shape());
+        assertTrue(entry.shape().contains("\"$in\": \"[?]\""), entry.shape());
+        assertTrue(entry.shape().contains("\"sort\": {\"name\": 1}"), entry.shape());
+        assertTrue(!entry.shape().contains("ana@correo.com") && !entry.shape().contains("lsid"), entry.shape());
+
+        assertEquals(1.0, meterRegistry.get("mongodb.query.slow").tag("collection", "users").counter().count());
+        assertEquals(2.0, meterRegistry.get("mongodb.query.returned").tag("command", "find").summary().totalAmount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copiesOnlySampledCommandsAndReusesMeters() {
+        MongoQueryProfiler sampling = new MongoQueryProfiler(slowQueryLog, mock(ObjectProvider.class), meterRegistry, 0, false, 3);
+        BsonDocument response = BsonDocument.parse("{cursor: {id: 0, ns: 'resqnet.reports', firstBatch: [{_id: 1}]}, ok: 1}");
+
+        for (int requestId = 10; requestId < 16; requestId++) {
+            BsonDocument find = BsonDocument.parse("{find: 'reports', filter: {status: 'PENDING'}, $db: 'resqnet'}");
+            sampling.commandStarted(new CommandStartedEvent(null, 1, requestId, CONNECTION, "resqnet", "find", find));
+            sampling.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, CONNECTION, "resqnet", "find", response, 150_000_000L));
+        }
+
+        // 1 de cada 3 comandos lleva forma; todos se cuentan en los mismos medidores
+        List<SlowQueryEntry> entries = slowQueryLog.latest(10);
+        assertEquals(6, entries.size());
+        assertEquals(2, entries.stream().filter(entry -> entry.shape() != null).count());
+        assertEquals(1, meterRegistry.find("mongodb.query.slow").counters().size());
+        assertEquals(6.0, meterRegistry.get("mongodb.query.slow").tag("collection", "reports").counter().count());
+        assertEquals(6, meterRegistry.get("mongodb.query.returned").tag("collection", "reports").summary().count());
+    }
+
+    @Test
+    void ignoresCommandsThatAreNotQueries() {
+        BsonDocument insert = BsonDocument.parse("{insert: 'reports', documents: [{_id: 1}], $db: 'resqnet'}");
+
+        profiler.commandStarted(new CommandStartedEvent(null, 2, 8, CONNECTION, "resqnet", "insert", insert));
+        profiler.commandSucceeded(new CommandSucceededEvent(null, 2, 8, CONNECTION, "resqnet", "insert", BsonDocument.parse("{n: 1, ok: 1}"), 500_000_000L));
+
+        assertTrue(slowQueryLog.latest(10).isEmpty());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.services;
+
+import co.edu.uniquindio.services.implementations.CloudinaryServiceImpl;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Uploader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CloudinaryServiceImplTest {
+
+    private static final long UPLOAD_LATENCY_MS = 300;
+
+    private Uploader uploader;
+    private CloudinaryServiceImpl cloudinaryService;
+
+    @BeforeEach
+    void setup() throws IOException {
+        // Uploader simulado: tarda UPLOAD_LATENCY_MS y usa el contenido del archivo como public_id
+        uploader = mock(Uploader.class);
+        Cloudinary cloudinary = mock(Cloudinary.class);
+        when(cloudinary.uploader()).thenReturn(uploader);
+        when(uploader.upload(any(), anyMap())).thenAnswer(invocation -> {
+            String content = Files.readString(((File) invocation.getArgument(0)).toPath());
+            if (content.startsWith("falla")) {
+                throw new IOException("Error simulado");
+            }
+            Thread.sleep(UPLOAD_LATENCY_MS);
+            return Map.of("public_id", content, "secure_url", "https://cdn.test/" + content + ".jpg");
+        });
+
+        cloudinaryService = new CloudinaryServiceImpl(cloudinary, 5, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cloudinaryService.shutdown();
+    }
+
+    @Test
+    void testUploadsRunInParallelAndKeepOrder() throws IOException {
+        List<MultipartFile> files = IntStream.range(0, 5)
+                .mapToObj(i -> (MultipartFile) new MockMultipartFile("images", "img" + i + ".jpg", "image/jpeg", ("img" + i).getBytes()))
+                .toList();
+
+        long start = System.currentTimeMillis();
+        List<String> urls = cloudinaryService.uploadImages(files);
+        long elapsed = System.currentTimeMillis() - start;
+
+        // Las URLs respetan el orden de los archivos y el tiempo total es cercano al de una sola subida
+        assertEquals(IntStream.range(0, 5).mapToObj(i -> "https://cdn.test/img" + i + ".jpg").toList(), urls);
+        assertTrue(elapsed < 5 * UPLOAD_LATENCY_MS, "Las subidas deben ejecutarse en paralelo (" + elapsed + " ms)");
+        verify(uploader, never()).destroy(anyString(), anyMap());
+    }
+
+    @Test
+    void testFailedUploadCleansUpPartialUploads() throws IOException {
+        // Orden forzado con latches (sin esperas por tiempo):
+        // - "ok-a" termina de inmediato
+        // - "falla-b" falla solo cuando "ok-c" ya está subiendo
+        // - "ok-c" termina después del abort (cuando se elimina "ok-a"), ignorando la interrupción de cancel(true)
+        CountDownLatch cStarted = new CountDownLatch(1);
+        CountDownLatch aDestroyed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            String content = Files.readString(((File) invocation.getArgument(0)).toPath());
+            if (content.equals("falla-b")) {
+                awaitUninterruptibly(cStarted);
+                throw new IOException("Error simulado");
+            }
+            if (content.equals("ok-c")) {
+                cStarted.countDown();
+                awaitUninterruptibly(aDestroyed);
+            }
+            return Map.of("public_id", content, "secure_url", "https://cdn.test/" + content + ".jpg");
+        }).when(uploader).upload(any(), anyMap());
+        doAnswer(invocation -> {
+            aDestroyed.countDown();
+            return Map.of("result", "ok");
+        }).when(uploader).destroy(eq("ok-a"), anyMap());
+
+        List<MultipartFile> files = List.of(
+                new MockMultipartFile("images", "a.jpg", "image/jpeg", "ok-a".getBytes()),
+                new MockMultipartFile("images", "b.jpg", "image/jpeg", "falla-b".getBytes()),
+                new MockMultipartFile("images", "c.jpg", "image/jpeg", "ok-c".getBytes())
+        );
+
+        assertThrows(RuntimeException.class, () -> cloudinaryService.uploadImages(files));
+
+        // La que terminó antes del error se elimina en el abort y la que termina después, al registrarse
+        verify(uploader).destroy(eq("ok-a"), anyMap());
+        verify(uploader, timeout(5000)).destroy(eq("ok-c"), anyMap());
+        verify(uploader, never()).destroy(eq("falla-b"), anyMap());
+    }
+
+    @Test
+    void testTimeoutCoversTheWholeBatch() {
+        // Sección de Arrange: un solo hilo y 1 s de plazo; cinco subidas de 300 ms en fila terminan a los 1.5 s
+        Cloudinary cloudinary = mock(Cloudinary.class);
+        when(cloudinary.uploader()).thenReturn(uploader);
+        CloudinaryServiceImpl singleThreadService = new CloudinaryServiceImpl(cloudinary, 1, 1);
+        List<MultipartFile> files = IntStream.range(0, 5)
+                .mapToObj(i -> (MultipartFile) new MockMultipartFile("images", "img" + i + ".jpg", "image/jpeg", ("img" + i).getBytes()))
+                .toList();
+
+        try {
+            // Sección de Act: con un plazo por imagen cada espera cabría en 1 s y el lote terminaría sin fallar
+            long start = System.currentTimeMillis();
+            assertThrows(RuntimeException.class, () -> singleThreadService.uploadImages(files));
+            long elapsed = System.currentTimeMillis() - start;
+
+            // Sección de Assert: el lote falla al vencer el plazo común
+            assertTrue(elapsed < 1_500, "El plazo debe contarse para todo el lote (" + elapsed + " ms)");
+        } finally {
+            singleThreadService.shutdown();
+        }
+    }
+
+    // Espera el latch aunque el hilo sea interrumpido (como una subida HTTP que no responde a interrupciones)
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
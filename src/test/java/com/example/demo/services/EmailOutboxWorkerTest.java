@@ -0,0 +1,162 @@
+package com.example.demo.services;
+
+import co.edu.uniquindio.model.EmailOutbox;
+import co.edu.uniquindio.model.enums.EmailStatus;
+import co.edu.uniquindio.repositories.EmailOutboxRepository;
+import co.edu.uniquindio.services.implementations.EmailOutboxWorker;
+import com.example.demo.support.EmbeddedMongo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class EmailOutboxWorkerTest {
+
+    private static final long BACKOFF_MS = 50;
+    private static final long LEASE_MS = 60_000;
+
+    private MongoTemplate mongoTemplate;
+    private EmailOutboxRepository outboxRepository;
+    private FakeMailSender mailSender;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxWorker worker;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate = EmbeddedMongo.template("email-outbox-test");
+        outboxRepository = EmbeddedMongo.repository(mongoTemplate, EmailOutboxRepository.class);
+        mailSender = new FakeMailSender();
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new EmailOutboxWorker(mailSender, mongoTemplate, outboxRepository, meterRegistry, 1, 3, BACKOFF_MS, LEASE_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.stop();
+    }
+
+    @Test
+    void testFailedSendIsRetriedWithExponentialBackoff() {
+        // Sección de Arrange: el servidor SMTP falla dos veces y luego responde
+        mailSender.failures.set(2);
+        EmailOutbox email = outboxRepository.save(email(EmailStatus.PENDING, null));
+
+        // Sección de Act
+        worker.start();
+        worker.submit(email.getId());
+
+        // Sección de Assert: tercer intento enviado, con esperas de backoff y 2*backoff entre intentos
+        EmailOutbox stored = awaitStatus(email.getId(), EmailStatus.SENT);
+        assertEquals(3, stored.getAttempts());
+        assertNotNull(stored.getSentAt());
+        assertNull(stored.getLastError());
+        assertNull(stored.getClaimedAt());
+        assertEquals(1, mailSender.sent.size());
+        assertEquals(1, meterRegistry.get("mail.outbox.sent").counter().count());
+        assertEquals(1, meterRegistry.get("mail.outbox.send").tag("outcome", "success").timer().count());
+        assertEquals(2, meterRegistry.get("mail.outbox.send").tag("outcome", "error").timer().count());
+
+        List<Long> attempts = mailSender.attemptTimes;
+        assertEquals(3, attempts.size());
+        assertTrue(attempts.get(1) - attempts.get(0) >= BACKOFF_MS, "Primer reintento antes del backoff");
+        assertTrue(attempts.get(2) - attempts.get(1) >= 2 * BACKOFF_MS, "Segundo reintento antes de 2*backoff");
+    }
+
+    @Test
+    void testEmailIsFailedAfterMaxAttempts() {
+        mailSender.failures.set(Integer.MAX_VALUE);
+        EmailOutbox email = outboxRepository.save(email(EmailStatus.PENDING, null));
+
+        worker.start();
+        worker.submit(email.getId());
+
+        EmailOutbox stored = awaitStatus(email.getId(), EmailStatus.FAILED);
+        assertEquals(3, stored.getAttempts());
+        assertEquals("SMTP no disponible", stored.getLastError());
+        assertEquals(3, mailSender.attemptTimes.size());
+        assertEquals(0, mailSender.sent.size());
+        assertEquals(1, meterRegistry.get("mail.outbox.failed").counter().count());
+        assertEquals(0, meterRegistry.get("mail.outbox.sent").counter().count());
+    }
+
+    @Test
+    void testRecoverPendingReclaimsOnlyExpiredClaims() {
+        // Sección de Arrange: sin workers, para ver solo lo que se vuelve a encolar
+        EmailOutbox pending = outboxRepository.save(email(EmailStatus.PENDING, null));
+        EmailOutbox abandoned = outboxRepository.save(email(EmailStatus.SENDING, LocalDateTime.now().minusMinutes(10)));
+        EmailOutbox inFlight = outboxRepository.save(email(EmailStatus.SENDING, LocalDateTime.now()));
+
+        // Sección de Act
+        worker.recoverPending();
+
+        // Sección de Assert: el que otra instancia está enviando no se toca
+        assertEquals(EmailStatus.PENDING, outboxRepository.findById(pending.getId()).orElseThrow().getStatus());
+        assertEquals(EmailStatus.PENDING, outboxRepository.findById(abandoned.getId()).orElseThrow().getStatus());
+        assertEquals(EmailStatus.SENDING, outboxRepository.findById(inFlight.getId()).orElseThrow().getStatus());
+        assertEquals(2, meterRegistry.get("mail.outbox.queue").gauge().value());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private static EmailOutbox email(EmailStatus status, LocalDateTime claimedAt) {
+        return EmailOutbox.builder()
+                .to("ana@test.com")
+                .subject("Código de activación")
+                .body("<p>123456</p>")
+                .html(true)
+                .status(status)
+                .attempts(status == EmailStatus.SENDING ? 1 : 0)
+                .createdAt(LocalDateTime.now())
+                .claimedAt(claimedAt)
+                .build();
+    }
+
+    private EmailOutbox awaitStatus(String id, EmailStatus status) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            EmailOutbox email = outboxRepository.findById(id).orElseThrow();
+            if (email.getStatus() == status) {
+                return email;
+            }
+            Thread.onSpinWait();
+        }
+        fail("El correo " + id + " no llegó a " + status);
+        return null;
+    }
+
+    // Servidor SMTP falso: falla las primeras N veces y registra cuándo se intentó cada envío
+    private static class FakeMailSender extends JavaMailSenderImpl {
+        private final AtomicInteger failures = new AtomicInteger();
+        private final List<Long> attemptTimes = new CopyOnWriteArrayList<>();
+        private final List<MimeMessage> sent = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(MimeMessage mimeMessage) {
+            send(new MimeMessage[]{mimeMessage});
+        }
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            attemptTimes.add(System.currentTimeMillis());
+            if (failures.getAndDecrement() > 0) {
+                throw new MailSendException("SMTP no disponible");
+            }
+            sent.addAll(List.of(mimeMessages));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.demo.services;
+
+import co.edu.uniquindio.cache.UserLocationIndex;
+import co.edu.uniquindio.events.NewReportEvent;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.User;
+import co.edu.uniquindio.model.enums.UserStatus;
+import co.edu.uniquindio.services.implementations.NearbyNotificationServiceImpl;
+import com.example.demo.support.EmbeddedMongo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class NearbyNotificationServiceImplTest {
+
+    private static final double RADIUS_KM = 10;
+
+    private MongoTemplate mongoTemplate;
+    private UserLocationIndex userLocationIndex;
+    private List<NewReportEvent> events;
+    private SimpleMeterRegistry meterRegistry;
+    private NearbyNotificationServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate = spy(EmbeddedMongo.template("nearby-notifications-test"));
+        userLocationIndex = new UserLocationIndex(mongoTemplate, 0.05);
+        events = new CopyOnWriteArrayList<>();
+        meterRegistry = new SimpleMeterRegistry();
+
+        // Armenia (Quindío): dos usuarios en el centro, uno a ~2 km y uno en Bogotá (fuera del radio)
+        saveUser("author", 4.534, -75.675);
+        saveUser("near-1", 4.536, -75.677);
+        saveUser("near-2", 4.552, -75.668);
+        saveUser("far", 4.711, -74.072);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void testFallbackUsesOneMongoQueryPerBatch() {
+        // Sección de Arrange: índice sin cargar; el lote entero queda en cola antes de arrancar el despachador
+        service = service(100, 50);
+        assertTrue(service.enqueue(report("report-1", 4.534, -75.675), "author"));
+        assertTrue(service.enqueue(report("report-2", 4.553, -75.669), "author"));
+        assertTrue(service.enqueue(report("report-3", 4.711, -74.072), "author"));
+
+        // Sección de Act
+        service.start();
+        awaitEvents(5);
+
+        // Sección de Assert: una sola consulta para los tres reportes y cada uno con sus propios vecinos
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(User.class));
+        Map<String, List<String>> usersByReport = usersByReport();
+        assertEquals(List.of("near-1", "near-2"), usersByReport.get("report-1"));
+        assertEquals(List.of("near-2", "near-1"), usersByReport.get("report-2"));
+        assertEquals(List.of("far"), usersByReport.get("report-3"));
+        assertEquals(3, meterRegistry.get("notifications.fanout").tag("source", "nearby").summary().count());
+    }
+
+    @Test
+    void testLoadedIndexSkipsMongo() {
+        // Sección de Arrange
+        userLocationIndex.load();
+        service = service(100, 50);
+        service.enqueue(report("report-1", 4.534, -75.675), "author");
+
+        // Sección de Act
+        service.start();
+        awaitEvents(2);
+
+        // Sección de Assert: el autor no se notifica y no hubo consulta a MongoDB
+        verify(mongoTemplate, never()).find(any(Query.class), eq(User.class));
+        assertEquals(List.of("near-1", "near-2"), usersByReport().get("report-1"));
+    }
+
+    @Test
+    void testFullQueueDropsAndCounts() {
+        // Sección de Arrange: el despachador no arranca, así que la cola no se vacía
+        service = service(2, 50);
+
+        // Sección de Act
+        boolean first = service.enqueue(report("report-1", 4.534, -75.675), "author");
+        boolean second = service.enqueue(report("report-2", 4.534, -75.675), "author");
+        boolean third = service.enqueue(report("report-3", 4.534, -75.675), "author");
+
+        // Sección de Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, service.getQueueDepth());
+        assertEquals(1, service.getDroppedCount());
+        assertEquals(2.0, meterRegistry.get("notifications.nearby.queue").gauge().value());
+        assertEquals(1.0, meterRegistry.get("notifications.nearby.dropped").functionCounter().count());
+    }
+
+    @Test
+    void testLagMeasuresTimeInQueue() throws InterruptedException {
+        // Sección de Arrange: el reporte espera en cola al menos 100 ms
+        userLocationIndex.load();
+        service = service(100, 50);
+        service.enqueue(report("report-1", 4.534, -75.675), "author");
+        Thread.sleep(100);
+
+        // Sección de Act
+        service.start();
+        awaitEvents(2);
+
+        // Sección de Assert
+        assertTrue(service.getLastLagMillis() >= 100, "lag: " + service.getLastLagMillis());
+        assertEquals(0, service.getQueueDepth());
+        assertEquals(service.getLastLagMillis(), meterRegistry.get("notifications.nearby.lag").gauge().value());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private NearbyNotificationServiceImpl service(int queueCapacity, int batchSize) {
+        return new NearbyNotificationServiceImpl(mongoTemplate, userLocationIndex, event -> {
+            if (event instanceof NewReportEvent newReportEvent) {
+                events.add(newReportEvent);
+            }
+        }, meterRegistry, RADIUS_KM, queueCapacity, batchSize);
+    }
+
+    private void saveUser(String id, double lat, double lng) {
+        mongoTemplate.save(User.builder()
+                .id(id)
+                .email(id + "@resqnet.test")
+                .status(UserStatus.ACTIVE)
+                .location(new GeoJsonPoint(lng, lat))
+                .build());
+    }
+
+    private static Report report(String id, double lat, double lng) {
+        Report report = new Report();
+        report.setId(id);
+        report.setTitle("Reporte " + id);
+        report.setLocation(new GeoJsonPoint(lng, lat));
+        return report;
+    }
+
+    // Usuarios notificados por reporte, en el orden en que se publicaron (del más cercano al más lejano)
+    private Map<String, List<String>> usersByReport() {
+        return events.stream().collect(Collectors.groupingBy(event -> event.getReport().getId(),
+                Collectors.mapping(NewReportEvent::getUserId, Collectors.toList())));
+    }
+
+    private void awaitEvents(int expected) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (events.size() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Se esperaban " + expected + " eventos y llegaron " + events.size());
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
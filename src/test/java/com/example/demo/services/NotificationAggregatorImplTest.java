@@ -0,0 +1,178 @@
+package com.example.demo.services;
+
+import co.edu.uniquindio.dto.NotificationBatch;
+import co.edu.uniquindio.dto.NotificationItem;
+import co.edu.uniquindio.services.interfaces.NotificationInboxService;
+import co.edu.uniquindio.services.implementations.NotificationAggregatorImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationAggregatorImplTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final NotificationInboxService inboxService = mock(NotificationInboxService.class);
+    private final AtomicLong counter = new AtomicLong();
+    private NotificationAggregatorImpl aggregator;
+
+    // Contador persistido del buzón: cada llamada reserva un bloque consecutivo
+    @BeforeEach
+    void setup() {
+        when(inboxService.reserveSequences(anyString(), anyInt()))
+                .thenAnswer(invocation -> counter.getAndAdd(invocation.<Integer>getArgument(1)) + 1);
+    }
+
+    @AfterEach
+    void shutdown() {
+        aggregator.shutdown();
+    }
+
+    @Test
+    void burstWithinWindowIsSentAsOneOrderedFrame() {
+        aggregator = new NotificationAggregatorImpl(messagingTemplate, inboxService, new SimpleMeterRegistry(), 200, 50);
+
+        for (int i = 0; i < 10; i++) {
+            aggregator.send("user-1", "NEARBY_REPORT", "reporte-" + i);
+        }
+
+        // Nada sale antes de que cierre la ventana
+        verify(messagingTemplate, never()).convertAndSendToUser(any(), any(), any());
+
+        ArgumentCaptor<NotificationBatch> captor = ArgumentCaptor.forClass(NotificationBatch.class);
+        verify(messagingTemplate, timeout(2000).times(1))
+                .convertAndSendToUser(eq("user-1"), eq("/queue/notifications"), captor.capture());
+
+        List<NotificationItem> items = captor.getValue().notifications();
+        assertEquals(10, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals("reporte-" + i, items.get(i).payload());
+            if (i > 0) {
+                assertTrue(items.get(i).sequence() > items.get(i - 1).sequence());
+                assertTrue(items.get(i).id().compareTo(items.get(i - 1).id()) > 0);
+            }
+        }
+        assertEquals(List.of(1L, 10L), List.of(items.get(0).sequence(), items.get(9).sequence()));
+        // El lote queda en el buzón con los mismos ids y secuencias que el frame
+        verify(inboxService).storeAsync(argThat(stored -> stored.size() == 10
+                && stored.get(0).getId().equals(items.get(0).id()) && stored.get(0).getUserId().equals("user-1")
+                && stored.get(9).getSequence() == 10));
+    }
+
+    @Test
+    void frameIsStillSentWhenSequencesCannotBeReserved() {
+        when(inboxService.reserveSequences(anyString(), anyInt())).thenThrow(new IllegalStateException("MongoDB no responde"));
+        aggregator = new NotificationAggregatorImpl(messagingTemplate, inboxService, new SimpleMeterRegistry(), 0, 50);
+
+        aggregator.send("user-1", "STATUS_UPDATE", "mensaje");
+
+        // Sale sin secuencia (0) y no se guarda: sin secuencia no se puede reenviar por cursor
+        ArgumentCaptor<NotificationBatch> captor = ArgumentCaptor.forClass(NotificationBatch.class);
+        verify(messagingTemplate, timeout(2000)).convertAndSendToUser(eq("user-1"), eq("/queue/notifications"), captor.capture());
+        assertEquals(0, captor.getValue().notifications().get(0).sequence());
+        verify(inboxService, never()).storeAsync(any());
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForWindow() {
+        aggregator = new NotificationAggregatorImpl(messagingTemplate, inboxService, new SimpleMeterRegistry(), 60_000, 5);
+
+        for (int i = 0; i < 12; i++) {
+            aggregator.send("user-1", "STATUS_UPDATE", i);
+        }
+
+        // Dos lotes completos salen de inmediato; los 2 restantes esperan la ventana
+        verify(messagingTemplate, times(2)).convertAndSendToUser(eq("user-1"), eq("/queue/notifications"), any(NotificationBatch.class));
+        assertEquals(1, aggregator.getPendingUsers());
+    }
+
+    @Test
+    void blockedSendDoesNotHoldTheUserLock() throws Exception {
+        // Sección de Arrange: el primer envío queda bloqueado (p. ej. relay lento)
+        aggregator = new NotificationAggregatorImpl(messagingTemplate, inboxService, new SimpleMeterRegistry(), 0, 50);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return null;
+        }).doNothing().when(messagingTemplate).convertAndSendToUser(eq("user-1"), eq("/queue/notifications"), any(NotificationBatch.class));
+        Thread first = Thread.ofVirtual().start(() -> aggregator.send("user-1", "STATUS_UPDATE", "primero"));
+        assertTrue(sending.await(2, TimeUnit.SECONDS));
+
+        // Sección de Act: otra notificación del mismo usuario mientras el envío sigue bloqueado
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        Future<?> second = caller.submit(() -> aggregator.send("user-1", "STATUS_UPDATE", "segundo"));
+
+        // Sección de Assert: quien encola no espera al envío bloqueado; el hilo que envía la manda después, en orden
+        second.get(2, TimeUnit.SECONDS);
+        release.countDown();
+        first.join(2000);
+        caller.shutdown();
+
+        ArgumentCaptor<NotificationBatch> captor = ArgumentCaptor.forClass(NotificationBatch.class);
+        verify(messagingTemplate, times(2)).convertAndSendToUser(eq("user-1"), eq("/queue/notifications"), captor.capture());
+        assertEquals(List.of("primero", "segundo"), captor.getAllValues().stream()
+                .map(batch -> batch.notifications().get(0).payload())
+                .toList());
+        assertEquals(0, aggregator.getPendingUsers());
+    }
+
+    @Test
+    void concurrentSendersGetIdsAndSequencesInFrameOrder() throws Exception {
+        // Sin ventana: cada notificación sale en su propio frame, en el orden en que se encoló
+        aggregator = new NotificationAggregatorImpl(messagingTemplate, inboxService, new SimpleMeterRegistry(), 0, 50);
+        int threads = 8;
+        int perThread = 200;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    aggregator.send("user-1", "NEARBY_REPORT", i);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        ArgumentCaptor<NotificationBatch> captor = ArgumentCaptor.forClass(NotificationBatch.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSendToUser(eq("user-1"), eq("/queue/notifications"), captor.capture());
+        List<NotificationItem> items = captor.getAllValues().stream().flatMap(batch -> batch.notifications().stream()).toList();
+        assertEquals(threads * perThread, items.size());
+        for (int i = 1; i < items.size(); i++) {
+            assertTrue(items.get(i).sequence() > items.get(i - 1).sequence(), "Secuencia fuera de orden en el frame " + i);
+            assertTrue(items.get(i).id().compareTo(items.get(i - 1).id()) > 0, "Id fuera de orden en el frame " + i);
+        }
+    }
+}
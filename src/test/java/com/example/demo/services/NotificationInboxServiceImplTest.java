@@ -0,0 +1,190 @@
+package com.example.demo.services;
+
+import co.edu.uniquindio.dto.NotificationResponse;
+import co.edu.uniquindio.exceptions.BusinessException;
+import co.edu.uniquindio.model.Notification;
+import co.edu.uniquindio.services.implementations.NotificationInboxServiceImpl;
+import com.example.demo.support.EmbeddedMongo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationInboxServiceImplTest {
+
+    private static final int MAX_PER_USER = 5;
+
+    private MongoTemplate mongoTemplate;
+    private NotificationInboxServiceImpl inboxService;
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate = EmbeddedMongo.template("notification-inbox-test");
+        // Sin start(): las pruebas guardan y recortan de forma explícita con flush() y trimPending()
+        inboxService = new NotificationInboxServiceImpl(mongoTemplate, new ObjectMapper(), MAX_PER_USER, 100, 200, 30_000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        inboxService.shutdown();
+    }
+
+    @Test
+    void testStoreAsyncWritesOnlyOnFlush() {
+        inboxService.storeAsync(notifications("ana", 3));
+        assertEquals(0, mongoTemplate.count(new Query(), Notification.class));
+
+        inboxService.flush();
+
+        assertEquals(3, mongoTemplate.count(new Query(), Notification.class));
+        assertEquals(3, inboxService.countUnread("ana"));
+    }
+
+    @Test
+    void testReserveSequencesHandsOutConsecutiveBlocksPerUser() {
+        assertEquals(1, inboxService.reserveSequences("ana", 3));
+        assertEquals(4, inboxService.reserveSequences("ana", 2));
+        assertEquals(1, inboxService.reserveSequences("luis", 1));
+
+        // Otra instancia (otro nodo o tras un reinicio) sigue el mismo contador
+        NotificationInboxServiceImpl otherNode = new NotificationInboxServiceImpl(mongoTemplate, new ObjectMapper(), MAX_PER_USER, 100, 200, 30_000);
+        assertEquals(6, otherNode.reserveSequences("ana", 1));
+    }
+
+    @Test
+    void testFindSinceReturnsNotificationsAfterCursorInSequenceOrder() {
+        List<Notification> stored = notifications("ana", 4);
+        inboxService.storeAsync(stored);
+        inboxService.storeAsync(notifications("luis", 2));
+        inboxService.flush();
+
+        List<NotificationResponse> since = inboxService.findSince("ana", String.valueOf(stored.get(1).getSequence()), 50);
+        List<NotificationResponse> latest = inboxService.findSince("ana", null, 2);
+
+        assertEquals(List.of(stored.get(2).getId(), stored.get(3).getId()), ids(since));
+        // Sin cursor: las más recientes, también en orden de llegada
+        assertEquals(List.of(stored.get(2).getId(), stored.get(3).getId()), ids(latest));
+        // El payload vuelve como documento JSON simple
+        assertEquals("r-2", ((Map<?, ?>) since.get(0).payload()).get("reportId"));
+        assertEquals(stored.get(2).getSequence(), since.get(0).sequence());
+    }
+
+    @Test
+    void testFindSinceOrdersBySequenceNotById() {
+        // Sección de Arrange: ObjectId de otro nodo que ordena antes aunque su secuencia es posterior
+        Notification first = notification("ana", 1, new ObjectId().toHexString());
+        Notification second = notification("ana", 2, new ObjectId(new Date(0)).toHexString());
+        inboxService.storeAsync(List.of(first, second));
+        inboxService.flush();
+
+        // Sección de Act
+        List<NotificationResponse> since = inboxService.findSince("ana", "1", 50);
+
+        // Sección de Assert
+        assertEquals(List.of(second.getId()), ids(since));
+    }
+
+    @Test
+    void testFindSinceIncludesNotificationsStillQueued() {
+        // Un cliente que reconecta justo después de un envío: la notificación sigue en la cola del buzón
+        List<Notification> stored = notifications("ana", 2);
+        inboxService.storeAsync(stored);
+
+        List<NotificationResponse> since = inboxService.findSince("ana", "0", 50);
+
+        assertEquals(stored.stream().map(Notification::getId).toList(), ids(since));
+    }
+
+    @Test
+    void testFindSinceRejectsInvalidCursor() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> inboxService.findSince("ana", "no-es-una-secuencia", 10));
+
+        assertEquals("INVALID_CURSOR", exception.getErrorCode());
+    }
+
+    @Test
+    void testTrimKeepsNewestPerUserOnly() {
+        // Sección de Arrange: ana supera el máximo; luis no
+        List<Notification> ana = notifications("ana", MAX_PER_USER + 3);
+        inboxService.storeAsync(ana);
+        inboxService.storeAsync(notifications("luis", 2));
+        inboxService.flush();
+
+        // Sección de Act
+        inboxService.trimPending();
+
+        // Sección de Assert
+        List<String> kept = ids(inboxService.findSince("ana", null, 50));
+        assertEquals(ana.subList(3, ana.size()).stream().map(Notification::getId).toList(), kept);
+        assertEquals(2, mongoTemplate.count(new Query(Criteria.where("userId").is("luis")), Notification.class));
+    }
+
+    @Test
+    void testTrimOnlyRunsForUsersWithNewNotifications() {
+        // Notificaciones guardadas sin pasar por el buzón (p. ej. de antes de un reinicio)
+        mongoTemplate.insertAll(notifications("marta", MAX_PER_USER + 2));
+
+        inboxService.trimPending();
+
+        assertEquals(MAX_PER_USER + 2, mongoTemplate.count(new Query(Criteria.where("userId").is("marta")), Notification.class));
+    }
+
+    @Test
+    void testMarkReadOnlyAffectsOwnUnreadNotifications() {
+        List<Notification> ana = notifications("ana", 3);
+        List<Notification> luis = notifications("luis", 1);
+        inboxService.storeAsync(ana);
+        inboxService.storeAsync(luis);
+        inboxService.flush();
+
+        long updated = inboxService.markRead("ana", List.of(ana.get(0).getId(), luis.get(0).getId()));
+
+        assertEquals(1, updated);
+        assertEquals(2, inboxService.countUnread("ana"));
+        assertEquals(1, inboxService.countUnread("luis"));
+        assertEquals(2, inboxService.markAllRead("ana"));
+        assertTrue(inboxService.findSince("ana", null, 10).stream().allMatch(NotificationResponse::read));
+    }
+
+    // --- Métodos auxiliares ---
+
+    // Secuencias 1..count del usuario, como las reserva NotificationAggregatorImpl
+    private static List<Notification> notifications(String userId, int count) {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            notifications.add(notification(userId, i + 1, new ObjectId().toHexString()));
+        }
+        return notifications;
+    }
+
+    private static Notification notification(String userId, long sequence, String id) {
+        return Notification.builder()
+                .id(id)
+                .userId(userId)
+                .sequence(sequence)
+                .type("NEARBY_REPORT")
+                .payload(Map.of("reportId", "r-" + (sequence - 1)))
+                .read(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static List<String> ids(List<NotificationResponse> notifications) {
+        return notifications.stream().map(NotificationResponse::id).toList();
+    }
+}
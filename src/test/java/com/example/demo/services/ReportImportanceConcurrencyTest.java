@@ -0,0 +1,113 @@
+package com.example.demo.services;
+
+import co.edu.uniquindio.cache.CategoryRegistry;
+import co.edu.uniquindio.cache.ReportResponseCache;
+import co.edu.uniquindio.dto.LocationDTO;
+import co.edu.uniquindio.dto.ReportRequest;
+import co.edu.uniquindio.mappers.ReportMapper;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.enums.ReportStatus;
+import co.edu.uniquindio.repositories.ReportLikeRepository;
+import co.edu.uniquindio.repositories.ReportRepository;
+import co.edu.uniquindio.repositories.ReportRepositoryCustomImpl;
+import co.edu.uniquindio.repositories.UserRepository;
+import co.edu.uniquindio.services.implementations.EmailServiceImpl;
+import co.edu.uniquindio.services.implementations.ReportServiceImpl;
+import co.edu.uniquindio.services.interfaces.CloudinaryService;
+import co.edu.uniquindio.services.interfaces.NearbyNotificationService;
+import co.edu.uniquindio.services.interfaces.NotificationAggregator;
+import co.edu.uniquindio.services.interfaces.ReportMediaService;
+import co.edu.uniquindio.utils.ReportJsonCodec;
+import com.example.demo.support.EmbeddedMongo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportImportanceConcurrencyTest {
+
+    private static final int USERS = 40;
+    private static final int USERS_TOGGLING_TWICE = 10;
+    private static final int EDITS = 50;
+
+    private ReportRepository reportRepository;
+    private ReportLikeRepository reportLikeRepository;
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    void setup() {
+        MongoTemplate mongoTemplate = EmbeddedMongo.template("report-importance-test");
+        reportRepository = EmbeddedMongo.repository(mongoTemplate, ReportRepository.class, new ReportRepositoryCustomImpl(mongoTemplate));
+        reportLikeRepository = EmbeddedMongo.repository(mongoTemplate, ReportLikeRepository.class);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.existsById(anyString())).thenReturn(true);
+
+        reportService = new ReportServiceImpl(reportRepository, userRepository, reportLikeRepository,
+                mock(CategoryRegistry.class), mock(ReportResponseCache.class), mock(CloudinaryService.class),
+                mock(NearbyNotificationService.class), mock(ReportMapper.class), mock(ReportJsonCodec.class),
+                mock(ApplicationEventPublisher.class), mock(NotificationAggregator.class), mock(EmailServiceImpl.class),
+                mock(ReportMediaService.class));
+    }
+
+    @Test
+    void testConcurrentTogglesAndEditsKeepExactLikeCount() throws Exception {
+        // Sección de Arrange: un reporte pendiente sin "me gusta"
+        Report report = reportRepository.save(Report.builder().title("Incendio").description("Humo en el barrio")
+                .status(ReportStatus.PENDING).idUser("owner").date(LocalDateTime.now())
+                .location(new GeoJsonPoint(-75.68, 4.53)).categories(List.of("incendio")).build());
+        String reportId = report.getId();
+        ReportRequest edit = new ReportRequest("Incendio forestal", "Humo y llamas", List.of("incendio"),
+                new LocationDTO(4.53, -75.68), null);
+
+        // Sección de Act: 40 usuarios marcan a la vez (10 de ellos desmarcan después) mientras el autor edita el reporte
+        ExecutorService pool = Executors.newFixedThreadPool(USERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String userId = "user-" + i;
+            boolean togglesTwice = i < USERS_TOGGLING_TWICE;
+            tasks.add(pool.submit(() -> {
+                start.await();
+                reportService.toggleReportImportance(reportId, userId);
+                if (togglesTwice) {
+                    reportService.toggleReportImportance(reportId, userId);
+                }
+                return null;
+            }));
+        }
+        tasks.add(pool.submit(() -> {
+            start.await();
+            for (int i = 0; i < EDITS; i++) {
+                reportService.updateReport(edit, reportId, "owner");
+            }
+            return null;
+        }));
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        pool.shutdown();
+
+        // Sección de Assert: ninguna edición (lectura + escritura) pisó un $inc concurrente
+        Report stored = reportRepository.findById(reportId).orElseThrow();
+        int expected = USERS - USERS_TOGGLING_TWICE;
+        assertEquals(expected, stored.getRatingsImportant());
+        assertEquals(expected, reportLikeRepository.findByReportId(reportId).size());
+        assertEquals("Incendio forestal", stored.getTitle());
+    }
+}
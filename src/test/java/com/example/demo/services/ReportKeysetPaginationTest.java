@@ -0,0 +1,165 @@
+package com.example.demo.services;
+
+import co.edu.uniquindio.cache.CategoryRegistry;
+import co.edu.uniquindio.cache.ReportResponseCache;
+import co.edu.uniquindio.dto.ReportPageResponse;
+import co.edu.uniquindio.dto.ReportResponse;
+import co.edu.uniquindio.exceptions.BusinessException;
+import co.edu.uniquindio.mappers.ReportMapper;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.enums.ReportStatus;
+import co.edu.uniquindio.repositories.ReportLikeRepository;
+import co.edu.uniquindio.repositories.ReportRepository;
+import co.edu.uniquindio.repositories.ReportRepositoryCustomImpl;
+import co.edu.uniquindio.repositories.UserRepository;
+import co.edu.uniquindio.services.implementations.EmailServiceImpl;
+import co.edu.uniquindio.services.implementations.ReportServiceImpl;
+import co.edu.uniquindio.services.interfaces.CloudinaryService;
+import co.edu.uniquindio.services.interfaces.NearbyNotificationService;
+import co.edu.uniquindio.services.interfaces.NotificationAggregator;
+import co.edu.uniquindio.services.interfaces.ReportMediaService;
+import co.edu.uniquindio.utils.ReportJsonCodec;
+import com.example.demo.support.EmbeddedMongo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportKeysetPaginationTest {
+
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2025, 3, 10, 8, 30);
+
+    private ReportRepository reportRepository;
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    void setup() {
+        MongoTemplate mongoTemplate = EmbeddedMongo.template("report-keyset-test");
+        reportRepository = EmbeddedMongo.repository(mongoTemplate, ReportRepository.class, new ReportRepositoryCustomImpl(mongoTemplate));
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.existsById(anyString())).thenReturn(true);
+
+        reportService = new ReportServiceImpl(reportRepository, userRepository, mock(ReportLikeRepository.class),
+                mock(CategoryRegistry.class), mock(ReportResponseCache.class), mock(CloudinaryService.class),
+                mock(NearbyNotificationService.class), mock(ReportMapper.class), mock(ReportJsonCodec.class),
+                mock(ApplicationEventPublisher.class), mock(NotificationAggregator.class), mock(EmailServiceImpl.class),
+                mock(ReportMediaService.class));
+    }
+
+    @Test
+    void testPagesDoNotSkipOrRepeatReportsWithTheSameDate() {
+        // Sección de Arrange: 7 reportes, 5 de ellos con la misma fecha (el desempate es el _id)
+        List<Report> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(save("ana", BASE_DATE));
+        }
+        saved.add(save("ana", BASE_DATE.plusHours(1)));
+        saved.add(save("ana", BASE_DATE.minusHours(1)));
+        save("otro", BASE_DATE); // de otro usuario, no debe aparecer
+
+        // Sección de Act: páginas de 2, el corte cae dentro del grupo empatado
+        List<ReportResponse> all = new ArrayList<>();
+        List<String> cursors = new ArrayList<>();
+        String cursor = null;
+        do {
+            ReportPageResponse page = reportService.getReportsByUserIdPage("ana", cursor, 2);
+            all.addAll(page.items());
+            cursor = page.nextCursor();
+            cursors.add(cursor);
+        } while (cursor != null);
+
+        // Sección de Assert: mismo orden que el índice (date desc, _id desc), sin huecos ni duplicados
+        List<String> expected = saved.stream()
+                .sorted(Comparator.comparing(Report::getDate).thenComparing(Report::getId).reversed())
+                .map(Report::getId)
+                .toList();
+        assertEquals(expected, all.stream().map(ReportResponse::id).toList());
+        assertEquals(4, cursors.size()); // 2 + 2 + 2 + 1
+        assertNull(cursors.get(cursors.size() - 1));
+    }
+
+    @Test
+    void testLastFullPageHasNoNextCursor() {
+        for (int i = 0; i < 4; i++) {
+            save("ana", BASE_DATE.minusDays(i));
+        }
+
+        ReportPageResponse first = reportService.getReportsByUserIdPage("ana", null, 2);
+        ReportPageResponse second = reportService.getReportsByUserIdPage("ana", first.nextCursor(), 2);
+
+        assertNotNull(first.nextCursor());
+        assertEquals(2, second.items().size());
+        assertNull(second.nextCursor()); // El elemento extra no existe: no se ofrece una página vacía
+    }
+
+    @Test
+    void testFeedPagesByStatusAcrossTies() {
+        for (int i = 0; i < 3; i++) {
+            save("ana", BASE_DATE);
+            save("luis", BASE_DATE);
+        }
+        Report rejected = save("ana", BASE_DATE);
+        rejected.setStatus(ReportStatus.REJECTED);
+        reportRepository.save(rejected);
+
+        ReportPageResponse first = reportService.getReportsFeed("pending", null, null, 4);
+        ReportPageResponse second = reportService.getReportsFeed("pending", null, first.nextCursor(), 4);
+
+        assertEquals(4, first.items().size());
+        assertEquals(2, second.items().size());
+        assertNull(second.nextCursor());
+        assertTrue(second.items().stream().noneMatch(item -> first.items().contains(item)));
+        assertTrue(second.items().stream().noneMatch(item -> item.id().equals(rejected.getId())));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"no-es-base64!!", "c2luLXNlcGFyYWRvcg", "MjAyNS0xMy00MFQwMDowMHxhYmM"})
+    void testMalformedCursorIsRejected(String cursor) {
+        // "sin-separador" y "2025-13-40T00:00|abc" en Base64: decodifican pero no son un cursor válido
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> reportService.getReportsByUserIdPage("ana", cursor, 10));
+
+        assertEquals("INVALID_CURSOR", exception.getErrorCode());
+    }
+
+    @Test
+    void testCursorWithUnknownIdStillSeeksByDate() {
+        Report newer = save("ana", BASE_DATE.plusDays(1));
+        Report older = save("ana", BASE_DATE.minusDays(1));
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((BASE_DATE + "|no-es-un-object-id").getBytes(StandardCharsets.UTF_8));
+
+        ReportPageResponse page = reportService.getReportsByUserIdPage("ana", cursor, 10);
+
+        assertEquals(List.of(older.getId()), page.items().stream().map(ReportResponse::id).toList());
+        assertTrue(page.items().stream().noneMatch(item -> item.id().equals(newer.getId())));
+    }
+
+    // --- Métodos auxiliares ---
+
+    private Report save(String userId, LocalDateTime date) {
+        return reportRepository.save(Report.builder().title("Reporte").description("Descripción")
+                .status(ReportStatus.PENDING).idUser(userId).date(date)
+                .location(new GeoJsonPoint(-75.68, 4.53)).categories(List.of("incendio")).build());
+    }
+}
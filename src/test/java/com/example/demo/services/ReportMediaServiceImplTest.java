@@ -0,0 +1,187 @@
+package com.example.demo.services;
+
+import co.edu.uniquindio.cache.ReportResponseCache;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.enums.MediaStatus;
+import co.edu.uniquindio.repositories.ReportRepository;
+import co.edu.uniquindio.services.implementations.ReportMediaServiceImpl;
+import co.edu.uniquindio.services.interfaces.CloudinaryService;
+import co.edu.uniquindio.services.interfaces.NotificationAggregator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReportMediaServiceImplTest {
+
+    private static final List<String> URLS = List.of("https://cdn.test/upload/a.jpg", "https://cdn.test/upload/b.jpg");
+
+    @TempDir
+    Path spoolRoot;
+
+    private CloudinaryService cloudinaryService;
+    private ReportRepository reportRepository;
+    private NotificationAggregator notificationAggregator;
+    private ReportMediaServiceImpl mediaService;
+
+    @BeforeEach
+    void setup() {
+        cloudinaryService = mock(CloudinaryService.class);
+        reportRepository = mock(ReportRepository.class);
+        notificationAggregator = mock(NotificationAggregator.class);
+        // Un worker y 10 ms entre reintentos para que las pruebas sean rápidas
+        mediaService = new ReportMediaServiceImpl(cloudinaryService, reportRepository, mock(ReportResponseCache.class),
+                notificationAggregator, spoolRoot.toString(), 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mediaService.shutdown();
+    }
+
+    @Test
+    void testSpoolKeepsImageOrder() throws IOException {
+        Path staging = mediaService.spool(images("uno", "dos", "tres"));
+
+        try (Stream<Path> files = Files.list(staging)) {
+            List<String> contents = files.sorted().map(ReportMediaServiceImplTest::read).toList();
+            assertEquals(List.of("uno", "dos", "tres"), contents);
+        }
+    }
+
+    @Test
+    void testScheduledUploadUpdatesReportAndNotifiesAuthor() {
+        when(cloudinaryService.uploadFiles(anyList())).thenReturn(URLS);
+        when(reportRepository.updateMedia("r1", URLS, MediaStatus.READY)).thenReturn(true);
+
+        mediaService.schedule(mediaService.spool(images("a", "b")), report("r1", "ana"));
+
+        verify(reportRepository, timeout(5000)).updateMedia("r1", URLS, MediaStatus.READY);
+        verify(notificationAggregator, timeout(5000)).send(eq("ana"), eq(NotificationAggregator.REPORT_MEDIA), any());
+        awaitDeleted(spoolRoot.resolve("r1"));
+        verify(cloudinaryService, never()).deleteImages(anyList());
+    }
+
+    @Test
+    void testFailedUploadIsRetriedBeforeSucceeding() {
+        when(cloudinaryService.uploadFiles(anyList()))
+                .thenThrow(new RuntimeException("Cloudinary no responde"))
+                .thenReturn(URLS);
+        when(reportRepository.updateMedia("r1", URLS, MediaStatus.READY)).thenReturn(true);
+
+        mediaService.schedule(mediaService.spool(images("a", "b")), report("r1", "ana"));
+
+        verify(reportRepository, timeout(5000)).updateMedia("r1", URLS, MediaStatus.READY);
+        verify(cloudinaryService, times(2)).uploadFiles(anyList());
+        verify(reportRepository, never()).updateMedia(eq("r1"), isNull(), eq(MediaStatus.FAILED));
+    }
+
+    @Test
+    void testReportIsMarkedFailedAfterLastAttempt() {
+        when(cloudinaryService.uploadFiles(anyList())).thenThrow(new RuntimeException("Cloudinary no responde"));
+
+        mediaService.schedule(mediaService.spool(images("a")), report("r1", "ana"));
+
+        verify(reportRepository, timeout(5000)).updateMedia("r1", null, MediaStatus.FAILED);
+        verify(cloudinaryService, times(3)).uploadFiles(anyList());
+        verify(notificationAggregator, timeout(5000)).send(eq("ana"), eq(NotificationAggregator.REPORT_MEDIA), any());
+        awaitDeleted(spoolRoot.resolve("r1"));
+    }
+
+    @Test
+    void testImagesOfReportDeletedDuringUploadAreDestroyed() {
+        when(cloudinaryService.uploadFiles(anyList())).thenReturn(URLS);
+        when(reportRepository.updateMedia("r1", URLS, MediaStatus.READY)).thenReturn(false); // ya no existe
+
+        mediaService.schedule(mediaService.spool(images("a", "b")), report("r1", "ana"));
+
+        verify(cloudinaryService, timeout(5000)).deleteImages(URLS);
+        verify(notificationAggregator, after(200).never()).send(any(), any(), any());
+        awaitDeleted(spoolRoot.resolve("r1"));
+    }
+
+    @Test
+    void testResumePendingRetakesExistingReportsAndDiscardsTheRest() throws IOException {
+        // Sección de Arrange: lo que queda en el spool tras un reinicio
+        Path staging = createSpoolDir("staging-123");   // el reporte nunca se creó
+        Path existing = createSpoolDir("r-existe");
+        Path deleted = createSpoolDir("r-eliminado");
+        when(reportRepository.findById("r-existe")).thenReturn(Optional.of(report("r-existe", "ana")));
+        when(reportRepository.findById("r-eliminado")).thenReturn(Optional.empty());
+        when(cloudinaryService.uploadFiles(anyList())).thenReturn(URLS);
+        when(reportRepository.updateMedia("r-existe", URLS, MediaStatus.READY)).thenReturn(true);
+
+        // Sección de Act
+        mediaService.resumePending();
+
+        // Sección de Assert: solo se sube lo del reporte que existe; el resto se descarta sin subir
+        verify(reportRepository, timeout(5000)).updateMedia("r-existe", URLS, MediaStatus.READY);
+        verify(cloudinaryService, times(1)).uploadFiles(anyList());
+        assertFalse(Files.exists(staging));
+        assertFalse(Files.exists(deleted));
+        awaitDeleted(existing);
+    }
+
+    // --- Métodos auxiliares ---
+
+    private static List<MultipartFile> images(String... contents) {
+        return Stream.of(contents)
+                .map(content -> (MultipartFile) new MockMultipartFile("images", content + ".jpg", "image/jpeg", content.getBytes()))
+                .toList();
+    }
+
+    private static Report report(String id, String userId) {
+        return Report.builder().id(id).idUser(userId).mediaStatus(MediaStatus.PENDING_MEDIA).build();
+    }
+
+    private Path createSpoolDir(String name) throws IOException {
+        Path dir = Files.createDirectories(spoolRoot.resolve(name));
+        Files.writeString(dir.resolve("000.img"), name);
+        return dir;
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // El worker borra la carpeta al terminar, después de actualizar el reporte
+    private static void awaitDeleted(Path dir) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.exists(dir)) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("La carpeta " + dir + " no se eliminó");
+            }
+            Thread.onSpinWait();
+        }
+        assertTrue(Files.notExists(dir));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.demo.services;
+
+import co.edu.uniquindio.dto.ReportFilterRequest;
+import co.edu.uniquindio.model.Report;
+import co.edu.uniquindio.model.enums.ReportStatus;
+import co.edu.uniquindio.repositories.ReportRepository;
+import co.edu.uniquindio.services.implementations.ReportServiceImpl;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportPdfExportTest {
+
+    private static final int TOTAL_REPORTS = 100_000;
+
+    // Crecimiento máximo del heap durante la exportación y cada cuántos reportes se mide
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+    private static final int HEAP_SAMPLE_EVERY = 5_000;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @InjectMocks
+    private ReportServiceImpl reportService;
+
+    @Test
+    void testPdfIsWrittenWhileCursorIsStillOpen() throws Exception {
+        // Sección de Arrange: un cursor simulado de 100k reportes que se genera bajo demanda
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicLong bytesWritten = new AtomicLong();
+        AtomicLong bytesAtHalf = new AtomicLong(-1);
+
+        Stream<Report> cursor = Stream.iterate(0, i -> i + 1)
+                .limit(TOTAL_REPORTS)
+                .map(i -> {
+                    if (consumed.incrementAndGet() == TOTAL_REPORTS / 2) {
+                        bytesAtHalf.set(bytesWritten.get());
+                    }
+                    return Report.builder()
+                            .id(String.valueOf(i))
+                            .title("Reporte " + i)
+                            .description("Descripción del reporte " + i)
+                            .status(ReportStatus.PENDING)
+                            .date(LocalDateTime.now())
+                            .build();
+                });
+
+        when(reportRepository.countByFilters(any(ReportFilterRequest.class))).thenReturn((long) TOTAL_REPORTS);
+        when(reportRepository.streamByFilters(any(ReportFilterRequest.class), anyInt())).thenReturn(cursor);
+        when(response.getOutputStream()).thenReturn(new CountingOutputStream(bytesWritten));
+
+        // Sección de Act: se exporta sin filtros
+        reportService.generatePdfReport(null, null, null, null, null, null, null, response);
+
+        // Sección de Assert: todo el cursor se consumió y a mitad de camino ya se habían enviado bytes al cliente,
+        // es decir, el documento no se arma completo en memoria antes de escribirse
+        assertEquals(TOTAL_REPORTS, consumed.get());
+        assertTrue(bytesAtHalf.get() > 0, "El PDF debe enviarse al cliente mientras se lee el cursor");
+        assertTrue(bytesWritten.get() > bytesAtHalf.get());
+    }
+
+    @Test
+    void testHeapStaysBoundedAsExportGrows() throws Exception {
+        // Sección de Act: la misma exportación con 20k y con 100k reportes, midiendo el heap usado durante el recorrido
+        long baseline = usedHeapAfterGc();
+        long smallPeak = exportAndSampleHeap(TOTAL_REPORTS / 5) - baseline;
+        long largePeak = exportAndSampleHeap(TOTAL_REPORTS) - baseline;
+
+        // Sección de Assert: el pico no depende del tamaño de la exportación (5x más reportes, casi el mismo heap)
+        assertTrue(largePeak < MAX_HEAP_GROWTH_BYTES, "Heap usado con " + TOTAL_REPORTS + " reportes: " + largePeak + " bytes");
+        assertTrue(largePeak - smallPeak < MAX_HEAP_GROWTH_BYTES / 4,
+                "El heap creció de " + smallPeak + " a " + largePeak + " bytes con 5x más reportes");
+    }
+
+    // --- Métodos auxiliares ---
+
+    // Exporta total reportes y retorna el mayor heap usado (tras GC) medido cada HEAP_SAMPLE_EVERY reportes
+    private long exportAndSampleHeap(int total) throws Exception {
+        AtomicLong peak = new AtomicLong();
+        Stream<Report> cursor = Stream.iterate(0, i -> i + 1)
+                .limit(total)
+                .map(i -> {
+                    if (i > 0 && i % HEAP_SAMPLE_EVERY == 0) {
+                        peak.accumulateAndGet(usedHeapAfterGc(), Math::max);
+                    }
+                    return Report.builder()
+                            .id(String.valueOf(i))
+                            .title("Reporte " + i)
+                            .description("Descripción del reporte " + i)
+                            .status(ReportStatus.PENDING)
+                            .date(LocalDateTime.now())
+                            .build();
+                });
+
+        when(reportRepository.countByFilters(any(ReportFilterRequest.class))).thenReturn((long) total);
+        when(reportRepository.streamByFilters(any(ReportFilterRequest.class), anyInt())).thenReturn(cursor);
+        when(response.getOutputStream()).thenReturn(new CountingOutputStream(new AtomicLong()));
+
+        reportService.generatePdfReport(null, null, null, null, null, null, null, response);
+        return peak.get();
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // Salida que descarta el contenido y solo cuenta los bytes recibidos
+    private static class CountingOutputStream extends ServletOutputStream {
+        private final AtomicLong counter;
+
+        CountingOutputStream(AtomicLong counter) {
+            this.counter = counter;
+        }
+
+        @Override
+        public void write(int b) {
+            counter.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            counter.addAndGet(len);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    }
+}
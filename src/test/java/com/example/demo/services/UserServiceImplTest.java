@@ -0,0 +1,61 @@
+package com.example.demo.services;
+
+import co.edu.uniquindio.cache.ReportResponseCache;
+import co.edu.uniquindio.cache.UserLocationIndex;
+import co.edu.uniquindio.dto.UserRegistrationRequest;
+import co.edu.uniquindio.exceptions.ValueConflictException;
+import co.edu.uniquindio.mappers.UserMapper;
+import co.edu.uniquindio.model.User;
+import co.edu.uniquindio.repositories.ReportRepository;
+import co.edu.uniquindio.repositories.UserRepository;
+import co.edu.uniquindio.services.implementations.UserServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserLocationIndex userLocationIndex = mock(UserLocationIndex.class);
+    private final UserServiceImpl userService = new UserServiceImpl(userRepository, mock(UserMapper.class),
+            new BCryptPasswordEncoder(), mock(ReportRepository.class), userLocationIndex, mock(ReportResponseCache.class));
+
+    @Test
+    void testCreateUserRejectsEmailAlreadyInUseInAnyStatus() {
+        // Sección de Arrange
+        when(userRepository.existsByEmail("ana@correo.com")).thenReturn(true);
+
+        // Sección de Act y Assert
+        assertThrows(ValueConflictException.class, () -> userService.createUser(request()));
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(userLocationIndex);
+    }
+
+    @Test
+    void testCreateUserMapsDuplicateKeyToConflict() {
+        // Sección de Arrange: otro registro con el mismo email se guardó entre la validación y el insert
+        when(userRepository.existsByEmail("ana@correo.com")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        // Sección de Act y Assert
+        assertThrows(ValueConflictException.class, () -> userService.createUser(request()));
+        verifyNoInteractions(userLocationIndex);
+    }
+
+    // --- Métodos auxiliares ---
+
+    private static UserRegistrationRequest request() {
+        return new UserRegistrationRequest("1094", "ana@correo.com", "Clave1234", "Ana Vélez",
+                LocalDate.of(1999, 5, 20), "3001234567", "Calle 10 # 5-20", "Armenia", -75.68, 4.53);
+    }
+}
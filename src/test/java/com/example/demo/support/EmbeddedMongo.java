@@ -0,0 +1,53 @@
+package com.example.demo.support;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+/**
+ * mongod embebido (flapdoodle) compartido por las pruebas que necesitan consultas reales ($inc, findAndModify, índices)
+ * - Se inicia la primera vez que se pide y se detiene al terminar la JVM
+ * - Cada prueba usa su propia base de datos y la borra antes de empezar
+ */
+public final class EmbeddedMongo {
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> process;
+    private static MongoClient client;
+
+    private EmbeddedMongo() {
+    }
+
+    // MongoTemplate con los índices de las entidades, igual que la aplicación (auto-index-creation=true)
+    public static synchronized MongoTemplate template(String database) {
+        if (client == null) {
+            process = Mongod.instance().start(Version.Main.V7_0);
+            client = MongoClients.create("mongodb://" + process.current().getServerAddress());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                client.close();
+                process.close();
+            }));
+        }
+        client.getDatabase(database).drop();
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setAutoIndexCreation(true);
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        return new MongoTemplate(new SimpleMongoClientDatabaseFactory(client, database), converter);
+    }
+
+    // Repositorio de Spring Data sobre el template, con su implementación personalizada si la tiene
+    public static <T> T repository(MongoTemplate mongoTemplate, Class<T> repositoryType, Object... customImplementations) {
+        return new MongoRepositoryFactory(mongoTemplate).getRepository(repositoryType, RepositoryFragments.just(customImplementations));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.utils;
+
+import co.edu.uniquindio.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "MiClaveSecretaMuySeguraDe64CaracteresABCDEF1234567890";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        // El caché de claims se observa por sus métricas (cache.* con cache=jwtClaims)
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(meterRegistry);
+        jwtUtil = new JwtUtil();
+        jwtUtil.setMeterRegistry(provider);
+        ReflectionTestUtils.setField(jwtUtil, "secretString", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 100L);
+        jwtUtil.init();
+    }
+
+    @Test
+    void testRepeatedVerificationUsesCache() {
+        String token = jwtUtil.generateToken("123", "client");
+
+        Claims first = jwtUtil.verifyToken(token).orElseThrow();
+        Claims second = jwtUtil.verifyToken(token).orElseThrow();
+
+        // La segunda llamada no vuelve a parsear: retorna la misma instancia en caché
+        assertSame(first, second);
+        assertEquals("123", jwtUtil.extractUserId(token));
+        assertEquals("CLIENT", jwtUtil.extractAllClaims(token).get("role", String.class));
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", "jwtClaims", "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        String token = jwtUtil.generateToken("123", "client");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(jwtUtil.validateToken(token));
+        assertFalse(jwtUtil.validateToken(tampered));
+    }
+
+    @Test
+    void testExpiredTokenIsRejectedAndNotCached() {
+        String expired = Jwts.builder()
+                .setSubject("123")
+                .claim("role", "CLIENT")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertFalse(jwtUtil.validateToken(expired));
+        assertEquals(0, meterRegistry.get("cache.size").tag("cache", "jwtClaims").gauge().value());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.websocket;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompSession;
+
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Dos nodos con resqnet.websocket.broker=relay sobre un broker STOMP embebido (Artemis):
+ * un mensaje enviado con convertAndSendToUser desde el nodo B llega al usuario conectado al nodo A
+ */
+class BrokerRelayMultiNodeTest {
+
+    private static EmbeddedActiveMQ broker;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startBrokerAndNodes() throws Exception {
+        int stompPort = freePort();
+        broker = new EmbeddedActiveMQ().setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + stompPort
+                        + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/"));
+        broker.start();
+
+        String[] relay = {
+                "resqnet.websocket.broker=relay",
+                "resqnet.websocket.relay.host=127.0.0.1",
+                "resqnet.websocket.relay.port=" + stompPort
+        };
+        nodeA = StompTestNodes.startNode(relay);
+        nodeB = StompTestNodes.startNode(relay);
+    }
+
+    @AfterAll
+    static void stopAll() throws Exception {
+        if (nodeA != null) nodeA.close();
+        if (nodeB != null) nodeB.close();
+        if (broker != null) broker.stop();
+    }
+
+    // Las propiedades de cada nodo deben ganar a application.properties (broker=simple, server.port=8080);
+    // si no, los dos nodos usarían el broker en memoria y la prueba entre nodos no probaría nada
+    @Test
+    void nodesRunWithTheRelayBrokerOnRandomPorts() {
+        assertInstanceOf(StompBrokerRelayMessageHandler.class, nodeA.getBean("stompBrokerRelayMessageHandler"));
+        assertInstanceOf(StompBrokerRelayMessageHandler.class, nodeB.getBean("stompBrokerRelayMessageHandler"));
+        assertNotEquals(8080, StompTestNodes.port(nodeA));
+        assertNotEquals(StompTestNodes.port(nodeA), StompTestNodes.port(nodeB));
+    }
+
+    @Test
+    void userMessageSentFromOtherNodeIsDelivered() throws Exception {
+        BlockingQueue<Map<?, ?>> received = new LinkedBlockingQueue<>();
+        StompSession session = StompTestNodes.connect(StompTestNodes.newClient(), StompTestNodes.port(nodeA),
+                "user-1", "/user/queue/notifications", received::add);
+
+        try {
+            SimpMessagingTemplate templateB = nodeB.getBean(SimpMessagingTemplate.class);
+            // La suscripción llega al broker de forma asíncrona; se reintenta hasta que el mensaje llegue
+            Map<?, ?> message = null;
+            for (int attempt = 0; attempt < 20 && message == null; attempt++) {
+                templateB.convertAndSendToUser("user-1", "/queue/notifications", Map.of("type", "CROSS_NODE"));
+                message = received.poll(1, TimeUnit.SECONDS);
+            }
+
+            assertNotNull(message, "El usuario conectado al nodo A no recibió el mensaje enviado desde el nodo B");
+            assertEquals("CROSS_NODE", message.get("type"));
+        } finally {
+            session.disconnect();
+        }
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.demo.websocket;
+
+import co.edu.uniquindio.dto.NotificationBatch;
+import co.edu.uniquindio.dto.NotificationResponse;
+import co.edu.uniquindio.services.interfaces.NotificationInboxService;
+import co.edu.uniquindio.websocket.NotificationReplayInterceptor;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class NotificationReplayInterceptorTest {
+
+    private final NotificationInboxService inboxService = mock(NotificationInboxService.class);
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final NotificationReplayInterceptor interceptor = new NotificationReplayInterceptor(inboxService, messagingTemplate, 500, 2);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final MessageHandler broker = mock(SimpleBrokerMessageHandler.class);
+
+    @Test
+    void testMissedNotificationsAreReplayedInBatchesToTheSubscribingSession() {
+        // Sección de Arrange: 5 notificaciones posteriores a la secuencia 0, lotes de 2
+        when(inboxService.findSince("ana", "0", 500)).thenReturn(responses(5));
+
+        // Sección de Act
+        interceptor.afterMessageHandled(subscribe("s1", "0", new HashMap<>()), channel, broker, null);
+
+        // Sección de Assert: 3 frames (2 + 2 + 1) en orden, solo para la sesión s1
+        ArgumentCaptor<NotificationBatch> batches = ArgumentCaptor.forClass(NotificationBatch.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(messagingTemplate, times(3)).convertAndSendToUser(eq("ana"), eq("/queue/notifications"), batches.capture(), headers.capture());
+        List<String> replayed = batches.getAllValues().stream()
+                .flatMap(batch -> batch.notifications().stream())
+                .map(item -> item.id())
+                .toList();
+        assertEquals(List.of("n-1", "n-2", "n-3", "n-4", "n-5"), replayed);
+        assertEquals(List.of(2, 2, 1), batches.getAllValues().stream().map(batch -> batch.notifications().size()).toList());
+        // Los frames reenviados llevan la secuencia guardada, comparable con la de los frames en vivo
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), batches.getAllValues().stream()
+                .flatMap(batch -> batch.notifications().stream())
+                .map(item -> item.sequence())
+                .toList());
+        headers.getAllValues().forEach(header -> assertEquals("s1", SimpMessageHeaderAccessor.getSessionId(header)));
+    }
+
+    @Test
+    void testSinceFromConnectIsUsedWhenSubscribeHasNone() {
+        Map<String, Object> sessionAttributes = new HashMap<>();
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.setSessionId("s1");
+        connect.setSessionAttributes(sessionAttributes);
+        connect.setNativeHeader(NotificationReplayInterceptor.SINCE_HEADER, "7");
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()), channel);
+        when(inboxService.findSince("ana", "7", 500)).thenReturn(responses(1));
+
+        interceptor.afterMessageHandled(subscribe("s1", null, sessionAttributes), channel, broker, null);
+
+        verify(inboxService).findSince("ana", "7", 500);
+        verify(messagingTemplate).convertAndSendToUser(eq("ana"), eq("/queue/notifications"), any(NotificationBatch.class), anyMap());
+    }
+
+    @Test
+    void testNothingIsReplayedWithoutSinceOrOutsideTheBroker() {
+        // Sin "since": el cliente no pidió ponerse al día
+        interceptor.afterMessageHandled(subscribe("s1", null, new HashMap<>()), channel, broker, null);
+        // Otro handler (p. ej. el de destinos de usuario) o un error del broker
+        interceptor.afterMessageHandled(subscribe("s1", "0", new HashMap<>()), channel, mock(MessageHandler.class), null);
+        interceptor.afterMessageHandled(subscribe("s1", "0", new HashMap<>()), channel, broker, new IllegalStateException());
+
+        verifyNoInteractions(inboxService, messagingTemplate);
+    }
+
+    @Test
+    void testInboxErrorsDoNotBreakTheSubscription() {
+        when(inboxService.findSince(anyString(), anyString(), anyInt())).thenThrow(new IllegalStateException("MongoDB no responde"));
+
+        interceptor.afterMessageHandled(subscribe("s1", "0", new HashMap<>()), channel, broker, null);
+
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    // --- Métodos auxiliares ---
+
+    // SUBSCRIBE ya resuelto por el UserDestinationMessageHandler (/user/queue/notifications -> destino de la sesión)
+    private Message<byte[]> subscribe(String sessionId, String since, Map<String, Object> sessionAttributes) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-1");
+        accessor.setDestination("/queue/notifications-user" + sessionId);
+        accessor.setNativeHeader(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION, "/user/queue/notifications");
+        accessor.setUser(() -> "ana");
+        accessor.setSessionAttributes(sessionAttributes);
+        if (since != null) {
+            accessor.setNativeHeader(NotificationReplayInterceptor.SINCE_HEADER, since);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static List<NotificationResponse> responses(int count) {
+        List<NotificationResponse> responses = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            responses.add(new NotificationResponse("n-" + i, i, "NEARBY_REPORT", Map.of("reportId", "r-" + i), false,
+                    "2025-03-10T08:30:00"));
+        }
+        return responses;
+    }
+}
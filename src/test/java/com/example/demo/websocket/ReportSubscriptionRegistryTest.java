@@ -0,0 +1,85 @@
+package com.example.demo.websocket;
+
+import co.edu.uniquindio.websocket.ReportSubscriptionRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportSubscriptionRegistryTest {
+
+    private final ReportSubscriptionRegistry registry = new ReportSubscriptionRegistry("simple");
+
+    @Test
+    void tracksSubscribersPerReportUntilUnsubscribeOrDisconnect() {
+        registry.onSubscribe(subscribe("s1", "sub-1", "/topic/reports/r1/status", "ana"));
+        registry.onSubscribe(subscribe("s2", "sub-1", "/topic/reports/r1/status", "luis"));
+        registry.onSubscribe(subscribe("s3", "sub-1", "/topic/reports/r1/status", "ana")); // segunda sesión de ana
+        registry.onSubscribe(subscribe("s2", "sub-2", "/topic/reports/r1/comments", "luis"));  // no es de estado
+
+        assertEquals(Set.of("ana", "luis"), registry.getSubscribers("r1"));
+        assertTrue(registry.getSubscribers("r2").isEmpty());
+
+        registry.onUnsubscribe(unsubscribe("s2", "sub-1", "luis"));
+        assertEquals(Set.of("ana"), registry.getSubscribers("r1"));
+
+        // ana sigue suscrita desde s3 aunque s1 se desconecte
+        registry.onDisconnect(new SessionDisconnectEvent(this, message(StompCommand.DISCONNECT, "s1", null, null), "s1", CloseStatus.NORMAL));
+        assertEquals(Set.of("ana"), registry.getSubscribers("r1"));
+
+        registry.onDisconnect(new SessionDisconnectEvent(this, message(StompCommand.DISCONNECT, "s3", null, null), "s3", CloseStatus.NORMAL));
+        assertTrue(registry.getSubscribers("r1").isEmpty());
+        assertEquals(0, registry.getSubscribedReports());
+    }
+
+    @Test
+    void publishesOnlyForReportsWithLocalSubscribers() {
+        registry.onSubscribe(subscribe("s1", "sub-1", ReportSubscriptionRegistry.statusDestination("r1"), "ana"));
+
+        assertTrue(registry.shouldPublish("r1"));
+        assertFalse(registry.shouldPublish("r2"));
+    }
+
+    @Test
+    void relayModeAlwaysPublishesAndLetsTheBrokerRoute() {
+        // Con relay los suscriptores de otros nodos solo los conoce el broker: no se recorre ningún registro global
+        ReportSubscriptionRegistry relayRegistry = new ReportSubscriptionRegistry("relay");
+        relayRegistry.onSubscribe(subscribe("s1", "sub-1", "/topic/reports/r1/status", "ana"));
+
+        assertTrue(relayRegistry.shouldPublish("r1"));
+        assertTrue(relayRegistry.shouldPublish("r2"));
+        assertEquals(Set.of("ana"), relayRegistry.getSubscribers("r1"));
+    }
+
+    private SessionSubscribeEvent subscribe(String sessionId, String subscriptionId, String destination, String user) {
+        return new SessionSubscribeEvent(this, message(StompCommand.SUBSCRIBE, sessionId, subscriptionId, destination), principal(user));
+    }
+
+    private SessionUnsubscribeEvent unsubscribe(String sessionId, String subscriptionId, String user) {
+        return new SessionUnsubscribeEvent(this, message(StompCommand.UNSUBSCRIBE, sessionId, subscriptionId, null), principal(user));
+    }
+
+    private Message<byte[]> message(StompCommand command, String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private Principal principal(String name) {
+        return () -> name;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.websocket;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga de WebSocket: muchos clientes STOMP simulados reciben una ráfaga de mensajes
+ * como la del fan-out de NewReportEvent, mientras unos pocos clientes lentos dejan de consumir.
+ * Verifica que los clientes normales reciben todo y que los lentos se desconectan por los límites de envío.
+ * <p>
+ * No se ejecuta con el resto de pruebas: activar con -Dresqnet.load=true
+ * (tamaño con -Dresqnet.load.clients, -Dresqnet.load.slow-clients y -Dresqnet.load.messages)
+ */
+@Tag("load")
+@EnabledIfSystemProperty(named = "resqnet.load", matches = "true")
+class StompLoadHarnessTest {
+
+    private static final int CLIENTS = Integer.getInteger("resqnet.load.clients", 200);
+    private static final int SLOW_CLIENTS = Integer.getInteger("resqnet.load.slow-clients", 5);
+    private static final int MESSAGES = Integer.getInteger("resqnet.load.messages", 500);
+    private static final String DESTINATION = "/topic/load";
+    // Relleno para que el buffer de envío de un cliente lento se llene rápido
+    private static final String PADDING = "x".repeat(4096);
+
+    private static ConfigurableApplicationContext node;
+
+    @BeforeAll
+    static void startNode() {
+        node = StompTestNodes.startNode(
+                "resqnet.websocket.transport.send-time-limit-ms=2000",
+                "resqnet.websocket.transport.send-buffer-size-kb=128",
+                "resqnet.websocket.channel.outbound.pool-size=8",
+                "resqnet.websocket.channel.outbound.queue-capacity=500");
+    }
+
+    @AfterAll
+    static void stopNode() {
+        if (node != null) node.close();
+    }
+
+    @Test
+    void fastClientsReceiveBurstAndSlowClientsAreDisconnected() throws Exception {
+        WebSocketStompClient client = StompTestNodes.newClient();
+        int port = StompTestNodes.port(node);
+
+        CountDownLatch allDelivered = new CountDownLatch(CLIENTS * MESSAGES);
+        ConcurrentLinkedQueue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+        AtomicLong delivered = new AtomicLong();
+
+        List<StompSession> fast = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            fast.add(StompTestNodes.connect(client, port, "fast-" + i, DESTINATION, payload -> {
+                long sentAt = ((Number) payload.get("sentAt")).longValue();
+                latenciesMicros.add((System.nanoTime() - sentAt) / 1_000);
+                delivered.incrementAndGet();
+                allDelivered.countDown();
+            }));
+        }
+
+        // Los clientes lentos bloquean su hilo de lectura: el servidor no puede vaciar su buffer
+        List<StompSession> slow = new ArrayList<>();
+        for (int i = 0; i < SLOW_CLIENTS; i++) {
+            slow.add(StompTestNodes.connect(client, port, "slow-" + i, DESTINATION, payload -> sleepQuietly(60_000)));
+        }
+        Thread.sleep(1000); // Esperar a que se registren las suscripciones
+
+        SimpMessagingTemplate template = node.getBean(SimpMessagingTemplate.class);
+        long start = System.nanoTime();
+        for (int seq = 0; seq < MESSAGES; seq++) {
+            template.convertAndSend(DESTINATION, Map.of("seq", seq, "sentAt", System.nanoTime(), "padding", PADDING));
+        }
+        long publishMillis = (System.nanoTime() - start) / 1_000_000;
+
+        boolean completed = allDelivered.await(60, TimeUnit.SECONDS);
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long[] sorted = latenciesMicros.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("Clientes=%d lentos=%d mensajes=%d entregados=%d publicación=%dms total=%dms "
+                        + "p50=%dµs p95=%dµs p99=%dµs max=%dµs%n",
+                CLIENTS, SLOW_CLIENTS, MESSAGES, delivered.get(), publishMillis, totalMillis,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                sorted.length > 0 ? sorted[sorted.length - 1] : 0);
+
+        assertTrue(completed, "Los clientes normales no recibieron todos los mensajes");
+        assertEquals((long) CLIENTS * MESSAGES, delivered.get());
+        assertTrue(slow.stream().noneMatch(StompSession::isConnected), "Los clientes lentos siguen conectados");
+
+        fast.forEach(StompSession::disconnect);
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
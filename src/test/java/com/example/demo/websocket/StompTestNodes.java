@@ -0,0 +1,142 @@
+package com.example.demo.websocket;
+
+import co.edu.uniquindio.config.WebSocketConfig;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketMessagingAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Nodos mínimos (servidor web + WebSocketConfig de la aplicación) y clientes STOMP para las pruebas de WebSocket
+ */
+final class StompTestNodes {
+
+    private StompTestNodes() {
+    }
+
+    // Se pasan como argumentos (--clave=valor) para que tengan prioridad sobre application.properties;
+    // SpringApplicationBuilder.properties() son valores por defecto y application.properties los pisaría
+    static ConfigurableApplicationContext startNode(String... properties) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(NodeConfig.class).run(args.toArray(String[]::new));
+        try {
+            assertApplied(context, properties);
+        } catch (IllegalStateException e) {
+            context.close();
+            throw e;
+        }
+        return context;
+    }
+
+    // Falla al arrancar el nodo si alguna propiedad de la prueba no quedó con el valor pedido
+    private static void assertApplied(ConfigurableApplicationContext context, String... properties) {
+        for (String property : properties) {
+            String key = property.substring(0, property.indexOf('='));
+            String expected = property.substring(property.indexOf('=') + 1);
+            String actual = context.getEnvironment().getProperty(key);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("El nodo de prueba arrancó con " + key + "=" + actual + " en lugar de " + expected);
+            }
+        }
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    static WebSocketStompClient newClient() {
+        WebSocketStompClient client = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+        return client;
+    }
+
+    // Conecta como userId (header login) y se suscribe a destination
+    static StompSession connect(WebSocketStompClient client, int port, String userId, String destination,
+                                Consumer<Map<?, ?>> onMessage) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin(userId);
+
+        StompSession session = client.connectAsync("http://localhost:" + port + "/ws", new WebSocketHttpHeaders(),
+                connectHeaders, new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                onMessage.accept((Map<?, ?>) payload);
+            }
+        });
+        return session;
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            WebSocketMessagingAutoConfiguration.class
+    })
+    @Import(WebSocketConfig.class)
+    static class NodeConfig implements WebSocketMessageBrokerConfigurer {
+
+        // En las pruebas el usuario se toma del header login del CONNECT (no hay JWT)
+        @Override
+        public void configureClientInboundChannel(ChannelRegistration registration) {
+            registration.interceptors(new ChannelInterceptor() {
+                @Override
+                public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                    StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                    if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+                        String login = accessor.getLogin();
+                        accessor.setUser(() -> login);
+                    }
+                    return message;
+                }
+            });
+        }
+    }
+}